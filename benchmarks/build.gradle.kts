@@ -0,0 +1,38 @@
+plugins {
+    java
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+group = "org.tpunn.autoblade"
+version = "1.0.0"
+
+java {
+    toolchain { languageVersion.set(JavaLanguageVersion.of(21)) }
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    // The fixture model under src/jmh is generated by the processor exactly like lib's tests
+    jmh(project(":lib"))
+    jmhAnnotationProcessor(project(":lib"))
+    jmhAnnotationProcessor("com.google.dagger:dagger-compiler:2.59")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    // The 10^7-blade registry trial needs the headroom
+    jvmArgs.set(listOf("-Xmx8g"))
+    // Machine-readable results, so runs from different versions can be diffed
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+}
+
+tasks.withType<JavaCompile> {
+    options.release.set(21)
+}
@@ -0,0 +1,9 @@
+package org.tpunn.autoblade.bench;
+
+import org.tpunn.autoblade.annotations.Blade;
+import org.tpunn.autoblade.bench.repos.TeamRepository;
+
+@Blade
+public interface AppBlade {
+    TeamRepository teams();
+}
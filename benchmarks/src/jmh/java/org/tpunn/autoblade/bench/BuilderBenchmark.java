@@ -0,0 +1,51 @@
+package org.tpunn.autoblade.bench;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.tpunn.autoblade.bench.badges.BadgeBuilder;
+import org.tpunn.autoblade.bench.badges.BadgeBuilderImpl;
+import org.tpunn.autoblade.bench.badges.BadgeFactory;
+
+/**
+ * Generated builders: a fresh builder per product, a pooled local() builder, and the
+ * direct build(...) overload. Run with {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BuilderBenchmark {
+    private PlayerBlade player;
+    private BadgeFactory factory;
+    private BadgeBuilder builder;
+
+    @Setup
+    public void setUp() {
+        TeamBlade team = AutoBladeApp.start().teams().create(new TeamData("bench", "Bench Team"));
+        player = team.players().create(new PlayerData(UUID.randomUUID(), "bench-player"));
+        factory = player.badgeFactory();
+        builder = player.badges();
+    }
+
+    @Benchmark
+    public int freshBuilder() {
+        return new BadgeBuilderImpl(factory).name("mvp").points(3).build().points();
+    }
+
+    @Benchmark
+    public int localBuilder() {
+        return builder.local().name("mvp").points(3).build().points();
+    }
+
+    @Benchmark
+    public int directBuild() {
+        return builder.build("mvp", 3).points();
+    }
+}
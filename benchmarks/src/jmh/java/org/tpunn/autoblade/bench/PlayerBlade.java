@@ -0,0 +1,14 @@
+package org.tpunn.autoblade.bench;
+
+import org.tpunn.autoblade.annotations.Blade;
+import org.tpunn.autoblade.bench.actions.ActionStrategyResolver;
+import org.tpunn.autoblade.bench.badges.BadgeBuilder;
+import org.tpunn.autoblade.bench.badges.BadgeFactory;
+import org.tpunn.autoblade.bench.core.Anchor;
+
+@Blade(Anchor.PLAYER)
+public interface PlayerBlade {
+    ActionStrategyResolver actions();
+    BadgeBuilder badges();
+    BadgeFactory badgeFactory();
+}
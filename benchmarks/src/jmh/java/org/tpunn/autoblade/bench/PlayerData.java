@@ -0,0 +1,13 @@
+package org.tpunn.autoblade.bench;
+
+import java.util.UUID;
+
+import org.tpunn.autoblade.annotations.Id;
+import org.tpunn.autoblade.annotations.Seed;
+import org.tpunn.autoblade.bench.core.Anchor;
+
+@Seed(Anchor.PLAYER)
+public record PlayerData(
+        @Id UUID userId,
+        String username
+) {}
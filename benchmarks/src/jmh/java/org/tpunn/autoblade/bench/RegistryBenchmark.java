@@ -0,0 +1,86 @@
+package org.tpunn.autoblade.bench;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.tpunn.autoblade.bench.repos.BladeRegistry;
+
+/**
+ * BladeRegistry lookups against a populated tree of {@code size} blades,
+ * spread over one parent per {@link #FAN_OUT} children.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RegistryBenchmark {
+    private static final int FAN_OUT = 1_000;
+
+    /** Marker types standing in for parent and child blades */
+    static final class Parent {}
+    static final class Child {}
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private BladeRegistry registry;
+    // The registry holds blades weakly; keep them reachable for the run
+    private Object[] blades;
+    private int parents;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        registry = new BladeRegistry();
+        parents = Math.max(1, size / FAN_OUT);
+        blades = new Object[parents + size];
+        for (int p = 0; p < parents; p++) {
+            blades[p] = new Parent();
+            registry.register("team-" + p, blades[p], null, null, Parent.class);
+        }
+        for (int c = 0; c < size; c++) {
+            Object child = new Child();
+            blades[parents + c] = child;
+            registry.register((long) c, child, Parent.class, "team-" + (c % parents), Child.class);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void release() {
+        blades = null;
+        registry = null;
+    }
+
+    private long randomChild() {
+        return ThreadLocalRandom.current().nextInt(size);
+    }
+
+    @Benchmark
+    public Object find() {
+        return registry.find(randomChild());
+    }
+
+    @Benchmark
+    public Object findMiss() {
+        return registry.find(-1L);
+    }
+
+    @Benchmark
+    public Object findAll() {
+        return registry.findAll(randomChild(), Child.class);
+    }
+
+    @Benchmark
+    public Object findInParent() {
+        long child = randomChild();
+        return registry.findInParent(Parent.class, "team-" + (child % parents), child, Child.class);
+    }
+}
@@ -0,0 +1,68 @@
+package org.tpunn.autoblade.bench;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Generated repository paths: @Create under contention and @Lookup hits,
+ * both local (cache) and deep (registry).
+ */
+public class RepositoryBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Model {
+        AppBlade app;
+        TeamBlade team;
+        UUID playerId;
+
+        @Setup
+        public void setUp() {
+            app = AutoBladeApp.start();
+            team = app.teams().create(new TeamData("bench", "Bench Team"));
+            playerId = UUID.randomUUID();
+            team.players().create(new PlayerData(playerId, "bench-player"));
+        }
+    }
+
+    /** Every thread creates fresh players and releases them, so the cache stays at its warm size. */
+    @Benchmark
+    @Threads(4)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public PlayerBlade createContended(Model model) {
+        UUID id = UUID.randomUUID();
+        PlayerBlade blade = model.team.players().create(new PlayerData(id, "p"));
+        model.team.players().remove(id);
+        return blade;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public PlayerBlade lookupHit(Model model) {
+        return model.team.players().get(model.playerId);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object deepLookupHit(Model model) {
+        return model.app.teams().findPlayer(model.playerId);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public PlayerBlade pathLookupHit(Model model) {
+        return model.app.teams().findPlayerInTeam("bench", model.playerId);
+    }
+}
@@ -0,0 +1,39 @@
+package org.tpunn.autoblade.bench;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.tpunn.autoblade.bench.actions.ActionStrategyResolver;
+import org.tpunn.autoblade.bench.actions.ActionType;
+
+/** Generated strategy dispatch: ActionStrategyResolver.resolve for a scoped strategy. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StrategyBenchmark {
+    private ActionStrategyResolver actions;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        TeamBlade team = AutoBladeApp.start().teams().create(new TeamData("bench", "Bench Team"));
+        actions = team.players().create(new PlayerData(UUID.randomUUID(), "bench-player")).actions();
+    }
+
+    @Benchmark
+    public int resolve() {
+        return actions.resolve(ActionType.JUMP).act();
+    }
+
+    @Benchmark
+    public int resolveAlternating() {
+        return actions.resolve((next++ & 1) == 0 ? ActionType.JUMP : ActionType.SIT).act();
+    }
+}
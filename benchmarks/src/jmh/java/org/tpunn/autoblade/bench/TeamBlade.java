@@ -0,0 +1,10 @@
+package org.tpunn.autoblade.bench;
+
+import org.tpunn.autoblade.annotations.Blade;
+import org.tpunn.autoblade.bench.core.Anchor;
+import org.tpunn.autoblade.bench.repos.PlayerRepository;
+
+@Blade(Anchor.TEAM)
+public interface TeamBlade {
+    PlayerRepository players();
+}
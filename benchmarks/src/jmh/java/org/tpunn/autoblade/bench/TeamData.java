@@ -0,0 +1,11 @@
+package org.tpunn.autoblade.bench;
+
+import org.tpunn.autoblade.annotations.Id;
+import org.tpunn.autoblade.annotations.Seed;
+import org.tpunn.autoblade.bench.core.Anchor;
+
+@Seed(Anchor.TEAM)
+public record TeamData(
+        @Id String teamId,
+        String teamName
+) {}
@@ -0,0 +1,15 @@
+package org.tpunn.autoblade.bench.actions;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.tpunn.autoblade.annotations.Strategy;
+
+@Strategy
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface ActionStrategy {
+    ActionType value();
+}
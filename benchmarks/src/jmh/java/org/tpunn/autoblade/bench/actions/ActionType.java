@@ -0,0 +1,6 @@
+package org.tpunn.autoblade.bench.actions;
+
+public enum ActionType {
+    JUMP,
+    SIT
+}
@@ -0,0 +1,26 @@
+package org.tpunn.autoblade.bench.actions;
+
+import javax.inject.Inject;
+
+import org.tpunn.autoblade.annotations.Anchored;
+import org.tpunn.autoblade.annotations.Scoped;
+import org.tpunn.autoblade.bench.PlayerData;
+import org.tpunn.autoblade.bench.core.Anchor;
+
+@ActionStrategy(ActionType.JUMP)
+@Scoped
+@Anchored(Anchor.PLAYER)
+public class JumpAction implements PlayerAction {
+    private final PlayerData data;
+    private int count = 0;
+
+    @Inject
+    public JumpAction(PlayerData data) {
+        this.data = data;
+    }
+
+    @Override
+    public int act() {
+        return data.username().length() + (++count);
+    }
+}
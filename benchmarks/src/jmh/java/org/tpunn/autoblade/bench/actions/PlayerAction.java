@@ -0,0 +1,5 @@
+package org.tpunn.autoblade.bench.actions;
+
+public interface PlayerAction {
+    int act();
+}
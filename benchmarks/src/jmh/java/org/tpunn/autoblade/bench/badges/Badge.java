@@ -0,0 +1,5 @@
+package org.tpunn.autoblade.bench.badges;
+
+public interface Badge {
+    int points();
+}
@@ -0,0 +1,33 @@
+package org.tpunn.autoblade.bench.badges;
+
+import org.tpunn.autoblade.annotations.Anchored;
+import org.tpunn.autoblade.annotations.AutoBuilder;
+import org.tpunn.autoblade.annotations.AutoFactory;
+import org.tpunn.autoblade.annotations.Transient;
+import org.tpunn.autoblade.bench.PlayerData;
+import org.tpunn.autoblade.bench.core.Anchor;
+
+import dagger.assisted.Assisted;
+import dagger.assisted.AssistedInject;
+
+@AutoBuilder(reusable = true)
+@AutoFactory
+@Transient
+@Anchored(Anchor.PLAYER)
+public class BadgeImpl implements Badge {
+    private final String name;
+    private final int points;
+    private final PlayerData data;
+
+    @AssistedInject
+    public BadgeImpl(@Assisted String name, @Assisted int points, PlayerData data) {
+        this.name = name;
+        this.points = points;
+        this.data = data;
+    }
+
+    @Override
+    public int points() {
+        return points + name.length() + data.username().length();
+    }
+}
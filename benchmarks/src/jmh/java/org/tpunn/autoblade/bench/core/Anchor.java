@@ -0,0 +1,6 @@
+package org.tpunn.autoblade.bench.core;
+
+public class Anchor {
+    public final static String TEAM = "Team";
+    public final static String PLAYER = "Player";
+}
@@ -0,0 +1,27 @@
+package org.tpunn.autoblade.bench.repos;
+
+import java.util.UUID;
+
+import org.tpunn.autoblade.annotations.Anchored;
+import org.tpunn.autoblade.annotations.Create;
+import org.tpunn.autoblade.annotations.Lookup;
+import org.tpunn.autoblade.annotations.Remove;
+import org.tpunn.autoblade.annotations.Repository;
+import org.tpunn.autoblade.annotations.Source;
+import org.tpunn.autoblade.bench.PlayerBlade;
+import org.tpunn.autoblade.bench.PlayerData;
+import org.tpunn.autoblade.bench.core.Anchor;
+
+@Repository
+@Anchored(Anchor.TEAM)
+@Source(Anchor.PLAYER)
+public interface PlayerRepository {
+    @Create
+    PlayerBlade create(PlayerData user);
+
+    @Lookup
+    PlayerBlade get(UUID userId);
+
+    @Remove
+    boolean remove(UUID userId);
+}
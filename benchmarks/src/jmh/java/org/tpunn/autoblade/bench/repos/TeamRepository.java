@@ -0,0 +1,29 @@
+package org.tpunn.autoblade.bench.repos;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.tpunn.autoblade.annotations.Create;
+import org.tpunn.autoblade.annotations.Lookup;
+import org.tpunn.autoblade.annotations.Repository;
+import org.tpunn.autoblade.annotations.Source;
+import org.tpunn.autoblade.bench.PlayerBlade;
+import org.tpunn.autoblade.bench.TeamBlade;
+import org.tpunn.autoblade.bench.TeamData;
+import org.tpunn.autoblade.bench.core.Anchor;
+
+@Repository
+@Source(Anchor.TEAM)
+public interface TeamRepository {
+    @Create
+    TeamBlade create(TeamData team);
+
+    @Lookup
+    TeamBlade get(String teamId);
+
+    @Lookup
+    Optional<PlayerBlade> findPlayer(UUID playerId);
+
+    @Lookup
+    PlayerBlade findPlayerInTeam(String teamId, UUID playerId);
+}
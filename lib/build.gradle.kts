@@ -53,6 +53,8 @@ dependencies {
     testAnnotationProcessor("com.google.dagger:dagger-compiler:2.59")
     testImplementation("junit:junit:4.13.2")
     testImplementation("com.google.testing.compile:compile-testing:0.21.0")
+    // Lets ProcessorScalabilityTest run Dagger in-process next to AutoBladeProcessor
+    testImplementation("com.google.dagger:dagger-compiler:2.59")
 
     // --- KOTLIN INTEGRATION TESTS ---
     "kaptKotlinIntegrationTest"(files(processorJar))
@@ -86,9 +88,24 @@ val kotlinIntegrationTestTask = tasks.register<Test>("kotlinIntegrationTest") {
     shouldRunAfter(tasks.test)
 }
 
+// Compile-time scalability sweep; kept out of the regular test run
+val processorScalabilityTask = tasks.register<Test>("processorScalability") {
+    description = "Measures AutoBladeProcessor time, rounds and allocation over synthetic projects."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    filter { includeTestsMatching("org.tpunn.autoblade.ProcessorScalabilityTest") }
+    maxHeapSize = "4g"
+    listOf("autoblade.scale.anchors", "autoblade.scale.services").forEach { key ->
+        project.findProperty(key)?.let { systemProperty(key, it) }
+    }
+    systemProperty("autoblade.scale.output", layout.buildDirectory.file("reports/processor-scalability.csv").get().asFile.path)
+}
+
 // 4. Task Wiring
 tasks.test {
     dependsOn(kotlinIntegrationTestTask)
+    exclude("**/ProcessorScalabilityTest*")
 }
 
 // Ensure the JAR is built before the integration tests try to compile
@@ -6,23 +6,22 @@ import javax.lang.model.SourceVersion;
 import javax.lang.model.element.TypeElement;
 
 import org.tpunn.autoblade.processors.*;
-import org.tpunn.autoblade.utilities.FileCollector;
+import org.tpunn.autoblade.utilities.RoundModel;
+import org.tpunn.autoblade.utilities.RuntimeTemplates;
+import org.tpunn.autoblade.utilities.SourceWriter;
 import org.tpunn.autoblade.validators.Validator;
 
 import java.util.*;
 
 @AutoService(Processor.class)
 @SupportedSourceVersion(SourceVersion.RELEASE_17)
-@SupportedAnnotationTypes({
-    "org.tpunn.autoblade.annotations.Repository",
-    "org.tpunn.autoblade.annotations.Blade",
-    "org.tpunn.autoblade.annotations.Seed",
-    "org.tpunn.autoblade.annotations.Scoped",
-    "org.tpunn.autoblade.annotations.Transient",
-    "org.tpunn.autoblade.annotations.Anchored",
-    "org.tpunn.autoblade.annotations.AutoFactory",
-    "org.tpunn.autoblade.annotations.AutoBuilder",
-    "javax.inject.Singleton"
+// Strategy implementations carry user-defined annotations that cannot be listed here, and Gradle only
+// re-feeds an aggregating processor the unchanged types annotated with a supported type; "*" covers them all.
+@SupportedAnnotationTypes("*")
+@SupportedOptions({
+    RepositoryProcessor.OPTION_REGISTRY_SHARDS,
+    RuntimeTemplates.OPTION_METRICS,
+    SourceWriter.OPTION_RENDER_THREADS
 })
 public class AutoBladeProcessor extends AbstractProcessor {
 
@@ -33,6 +32,7 @@ public class AutoBladeProcessor extends AbstractProcessor {
     private AnchorProcessor anchorProcessor;
     private FactoryProcessor factoryProcessor;
     private Validator validator;
+    private SourceWriter sources;
 
     @Override
     public synchronized void init(ProcessingEnvironment processingEnv) {
@@ -45,6 +45,20 @@ public class AutoBladeProcessor extends AbstractProcessor {
         this.factoryProcessor = new FactoryProcessor();
         this.validator = new Validator(processingEnv);
 
+        // Shared so repositories and resolvers resolve the same runtime classes
+        RuntimeTemplates templates = new RuntimeTemplates(processingEnv);
+        this.repositoryProcessor.setTemplates(templates);
+        this.strategyProcessor.setTemplates(templates);
+
+        // Sub-processors queue their files here; rendering runs in parallel, Filer writes stay serial
+        this.sources = new SourceWriter(processingEnv);
+        this.repositoryProcessor.setSources(sources);
+        this.componentProcessor.setSources(sources);
+        this.strategyProcessor.setSources(sources);
+        this.bindingProcessor.setSources(sources);
+        this.anchorProcessor.setSources(sources);
+        this.factoryProcessor.setSources(sources);
+
         this.repositoryProcessor.init(processingEnv);
         this.componentProcessor.init(processingEnv);
         this.strategyProcessor.init(processingEnv);
@@ -55,15 +69,27 @@ public class AutoBladeProcessor extends AbstractProcessor {
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
-        if (roundEnv.processingOver()) return false;
+        if (roundEnv.processingOver()) {
+            sources.close();
+            return false;
+        }
 
-        // Perform a fresh scan each round; use lowercase keys for case-insensitive lookup
-        Map<String, TypeElement> anchorMap = FileCollector.mapAnchorsToSeeds(roundEnv);
+        // Scan the round once; every sub-processor reads the same model
+        RoundModel model = RoundModel.build(roundEnv, processingEnv);
+        if (model.isEmpty()) {
+            // Every sub-processor is driven by the model, so a round without AutoBlade elements has nothing to do
+            return false;
+        }
 
-        this.validator.validate(roundEnv, anchorMap);
+        this.validator.validate(model);
 
         // Inject current round knowledge
-        repositoryProcessor.setAnchorMap(anchorMap);
+        repositoryProcessor.setModel(model);
+        factoryProcessor.setModel(model);
+        componentProcessor.setModel(model);
+        strategyProcessor.setModel(model);
+        anchorProcessor.setModel(model);
+        bindingProcessor.setModel(model);
 
         // Execute sequentially: Repository -> Component -> Anchor -> Binding
         repositoryProcessor.process(annotations, roundEnv);
@@ -73,6 +99,8 @@ public class AutoBladeProcessor extends AbstractProcessor {
         anchorProcessor.process(annotations, roundEnv);
         bindingProcessor.process(annotations, roundEnv);
 
-        return true;
+        sources.flush();
+        // Claiming "*" would hide every annotation, @Inject included, from Dagger
+        return false;
     }
 }
@@ -7,7 +7,7 @@ import java.lang.annotation.Target;
 
 /** Anchors a service to a specific seeded subcomponent. */
 @Target(ElementType.TYPE)
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface Anchored {
     String value();
 }
\ No newline at end of file
@@ -7,8 +7,14 @@ import java.lang.annotation.Target;
 
 /** Generates a builder for the class */
 @Target(ElementType.TYPE)
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface AutoBuilder {
     String suffix() default "Builder";
     String named() default "";
+
+    /**
+     * Adds {@code local()}, which lends a reset builder from a per-thread pool and takes it back on build(),
+     * so hot loops build without allocating builders; injection stays unscoped and allocates a fresh one
+     */
+    boolean reusable() default false;
 }
\ No newline at end of file
@@ -7,7 +7,7 @@ import java.lang.annotation.Target;
 
 /** Generates a factory for the class */
 @Target(ElementType.TYPE)
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface AutoFactory {
     String suffix() default "Factory";
     String named() default "";
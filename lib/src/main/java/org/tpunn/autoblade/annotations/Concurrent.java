@@ -5,7 +5,29 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
-/** Forces the generated ManagerService to use thread-safe caching. */
+/**
+ * Selects how the generated repository guards its cache.
+ * Without this annotation the cache is a HashMap synchronized on every write ({@link Mode#SYNCHRONIZED}).
+ */
 @Target(ElementType.TYPE)
-@Retention(RetentionPolicy.SOURCE)
-public @interface Concurrent {}
\ No newline at end of file
+@Retention(RetentionPolicy.CLASS)
+public @interface Concurrent {
+    /** Optional: The locking strategy of the cache. */
+    Mode value() default Mode.CONCURRENT;
+
+    /** Optional: Lock stripes for {@link Mode#STRIPED}, rounded up to a power of two. */
+    int stripes() default 16;
+
+    enum Mode {
+        /** Single owner thread, no locking; cross-thread access fails when assertions are enabled. */
+        CONFINED,
+        /** A HashMap guarded by its monitor. */
+        SYNCHRONIZED,
+        /** A ConcurrentHashMap. */
+        CONCURRENT,
+        /** Copy-on-write snapshot: lock-free reads, O(n) writes. */
+        READ_MOSTLY,
+        /** Plain hash maps behind a fixed set of stripe locks. */
+        STRIPED
+    }
+}
@@ -7,6 +7,6 @@ import java.lang.annotation.Target;
 
 /** Adds a create method to a blade's repository to generate sub-blades. */
 @Target(ElementType.METHOD)
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface Create {
 }
@@ -9,5 +9,5 @@ import java.lang.annotation.Target;
  * Identifies the unique field used to index this object's dynamic scope. 
  */
 @Target({ElementType.FIELD, ElementType.METHOD, ElementType.RECORD_COMPONENT})
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface Id {}
\ No newline at end of file
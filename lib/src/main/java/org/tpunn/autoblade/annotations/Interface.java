@@ -10,5 +10,5 @@ import java.lang.annotation.Target;
  * This allows consumers to explicitly indicate which interface should be used for DI bindings.
  */
 @Target(ElementType.TYPE)
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface Interface {}
@@ -0,0 +1,15 @@
+package org.tpunn.autoblade.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the repository method that supplies a blade's seed for an ID, used by {@code @Lookup(load = true)}.
+ * It must be implemented (a default or concrete method), take the blade's ID and return its Seed or null.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.CLASS)
+public @interface Loader {
+}
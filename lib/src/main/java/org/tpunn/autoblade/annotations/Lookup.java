@@ -7,6 +7,11 @@ import java.lang.annotation.Target;
 
 /** Adds a lookup method to a blade's repository to find sub-blades. */
 @Target(ElementType.METHOD)
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface Lookup {
+    /**
+     * Optional: On a local miss, fetch the seed from the repository's {@link Loader} and create the blade.
+     * Concurrent misses for the same ID share a single load.
+     */
+    boolean load() default false;
 }
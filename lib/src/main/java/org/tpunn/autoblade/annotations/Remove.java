@@ -0,0 +1,12 @@
+package org.tpunn.autoblade.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/** Adds a remove method to a blade's repository to tear down sub-blades and everything they own. */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.CLASS)
+public @interface Remove {
+}
@@ -4,9 +4,28 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
 
 /** Generates a service that manages the creation, updation, deletion, and searching of sub-blades. */
 @Target(ElementType.TYPE)
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface Repository {
+    /** Optional: Maximum number of cached blades before the least valuable ones are evicted. 0 means unbounded. */
+    long maximumSize() default 0;
+    /** Optional: Evicts a blade once it has not been looked up or created for this long. 0 disables it. */
+    long expireAfterAccess() default 0;
+    /** Optional: Evicts a blade this long after it was created. 0 disables it. */
+    long expireAfterWrite() default 0;
+    /** Optional: Unit of both expiry durations. */
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+    /**
+     * Optional: Tears evicted blades down, closing their resources and unregistering them, instead of only
+     * dropping them from the cache. Only enable it when nothing uses a blade after its eviction.
+     */
+    boolean closeOnEviction() default false;
+    /**
+     * Optional: Keeps blades out of the global registry, so they are only reachable through this repository.
+     * Suits short-lived blades that are created in bursts and released together by a parameterless @Remove.
+     */
+    boolean ephemeral() default false;
 }
@@ -9,5 +9,5 @@ import java.lang.annotation.Target;
  * Indicates that one instance is shared per Anchor (Location).
  */
 @Target(ElementType.TYPE)
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface Scoped {}
\ No newline at end of file
@@ -7,7 +7,7 @@ import java.lang.annotation.Target;
 
 /** Identifies the data object that "seeds" a dynamic scope. */
 @Target(ElementType.TYPE)
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface Seed {
     /** The name of the seed object. */
     String value();
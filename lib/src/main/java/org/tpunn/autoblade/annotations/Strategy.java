@@ -9,5 +9,5 @@ import java.lang.annotation.Target;
  * Marks a custom strategy annotation
  */
 @Target(ElementType.TYPE)
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface Strategy {}
\ No newline at end of file
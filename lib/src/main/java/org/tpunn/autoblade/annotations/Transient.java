@@ -9,5 +9,5 @@ import java.lang.annotation.Target;
  * Indicates that a new instance is created for every injection point.
  */
 @Target(ElementType.TYPE)
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface Transient {}
\ No newline at end of file
@@ -1,8 +1,6 @@
 package org.tpunn.autoblade.processors;
 
 import com.squareup.javapoet.*;
-import org.tpunn.autoblade.annotations.Anchored;
-import org.tpunn.autoblade.annotations.Blade;
 import org.tpunn.autoblade.utilities.*;
 import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
@@ -10,7 +8,6 @@ import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic;
 
-import java.io.IOException;
 import java.util.*;
 
 /**
@@ -18,28 +15,36 @@ import java.util.*;
  */
 @SupportedSourceVersion(SourceVersion.RELEASE_17)
 public class AnchorProcessor extends AbstractProcessor {
+    private RoundModel model;
+    private SourceWriter sources;
+
+    public void setModel(RoundModel model) {
+        this.model = model;
+    }
+
+    public void setSources(SourceWriter sources) {
+        this.sources = sources;
+    }
+
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         if (roundEnv.processingOver()) return false;
 
-        Set<TypeElement> anchoredServices = FileCollector.collectManaged(roundEnv, Anchored.class);
-        Set<TypeElement> contracts = FileCollector.collectManaged(roundEnv, Blade.class);
+        Set<TypeElement> anchoredServices = model.anchored();
+        Set<TypeElement> contracts = model.contracts();
         
         if (anchoredServices.isEmpty() && contracts.isEmpty()) return true;
 
         // Group unique anchor keys
-        Set<String> anchorKeys = new HashSet<>();
-        for (TypeElement te : anchoredServices) anchorKeys.add(LocationResolver.resolveLocation(te));
-        for (TypeElement te : contracts) anchorKeys.add(LocationResolver.resolveLocation(te));
+        Set<String> anchorKeys = new TreeSet<>();
+        for (TypeElement te : anchoredServices) anchorKeys.add(model.location(te));
+        for (TypeElement te : contracts) anchorKeys.add(model.location(te));
 
         for (String key : anchorKeys) {
             if ("App".equalsIgnoreCase(key) || key.isEmpty()) continue;
 
             // Find the @Blade contract that owns this anchor
-            TypeElement owner = contracts.stream()
-                .filter(c -> key.equalsIgnoreCase(LocationResolver.resolveLocation(c)))
-                .findFirst()
-                .orElse(null);
+            TypeElement owner = model.contractFor(key);
 
             // If no Blade is found, fallback to the first service requesting it
             if (owner == null) {
@@ -48,26 +53,28 @@ public class AnchorProcessor extends AbstractProcessor {
             }
 
             if (owner != null) {
-                generateScope(owner, key);
+                generateScope(owner, key, anchoredServices);
             }
         }
         return true;
     }
 
-    private void generateScope(TypeElement owner, String rawKey) {
+    private void generateScope(TypeElement owner, String rawKey, Set<TypeElement> anchoredServices) {
         String pkg = processingEnv.getElementUtils().getPackageOf(owner).getQualifiedName().toString();
         String scopeName = "Auto" + NamingUtils.toPascalCase(rawKey) + "Anchor";
 
-        TypeSpec spec = TypeSpec.annotationBuilder(scopeName)
+        TypeSpec.Builder spec = TypeSpec.annotationBuilder(scopeName)
+                .addOriginatingElement(owner)
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(ClassName.get("javax.inject", "Scope"))
                 .addAnnotation(AnnotationSpec.builder(ClassName.get("java.lang.annotation", "Retention"))
                         .addMember("value", "$T.RUNTIME", ClassName.get("java.lang.annotation", "RetentionPolicy"))
-                        .build())
-                .build();
+                        .build());
+        // Every service placed in the anchor keeps the scope alive
+        anchoredServices.stream()
+                .filter(te -> rawKey.equalsIgnoreCase(model.location(te)))
+                .forEach(spec::addOriginatingElement);
 
-        try {
-            JavaFile.builder(pkg, spec).build().writeTo(processingEnv.getFiler());
-        } catch (IOException ignored) {}
+        sources.add(JavaFile.builder(pkg, spec.build()).build());
     }
 }
@@ -7,7 +7,6 @@ import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.*;
 import javax.lang.model.type.TypeMirror;
-import java.io.IOException;
 import java.util.*;
 
 /**
@@ -15,28 +14,36 @@ import java.util.*;
  */
 @SupportedSourceVersion(SourceVersion.RELEASE_17)
 public class BindingProcessor extends AbstractProcessor {
+    private RoundModel model;
+    private SourceWriter sources;
+
+    public void setModel(RoundModel model) {
+        this.model = model;
+    }
+
+    public void setSources(SourceWriter sources) {
+        this.sources = sources;
+    }
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         if (roundEnv.processingOver()) return false;
 
-        // 1. Collect all types
-        Set<TypeElement> svcs = FileCollector.collectManaged(roundEnv, Arrays.asList(
-            Transient.class, Scoped.class, javax.inject.Singleton.class, AutoBuilder.class, AutoFactory.class));
-        Set<TypeElement> repos = FileCollector.collectManaged(roundEnv, Repository.class);
-        Set<TypeElement> contracts = FileCollector.collectManaged(roundEnv, Blade.class);
-
-        // Filter out Blade contracts from the "bindable services" list to avoid circular dependencies
-        svcs.removeIf(te -> BindingUtils.hasMirror(te, Blade.class.getName()));
+        // 1. Collect all types (Blade contracts are already excluded from the bindable services)
+        Set<TypeElement> svcs = model.services();
+        Set<TypeElement> repos = model.repositories();
+        Set<TypeElement> contracts = model.contracts();
 
         if (svcs.isEmpty() && repos.isEmpty() && contracts.isEmpty()) return true;
 
         // 2. Grouping
-        Map<String, List<TypeElement>> svcsByAnchor = LocationResolver.groupByAnchor(svcs);
-        Map<String, List<TypeElement>> reposByAnchor = LocationResolver.groupByAnchor(repos);
+        Map<String, List<TypeElement>> svcsByAnchor = model.servicesByLocation();
+        Map<String, List<TypeElement>> reposByAnchor = model.reposByLocation();
 
-        Set<String> allAnchors = new HashSet<>(svcsByAnchor.keySet());
+        Set<String> allAnchors = new TreeSet<>(svcsByAnchor.keySet());
         allAnchors.addAll(reposByAnchor.keySet());
+        // Every seeded anchor's subcomponent names its module, even when nothing is bound there yet
+        allAnchors.addAll(model.seedsByLocation().keySet());
         allAnchors.add("App");
 
         for (String anchor : allAnchors) {
@@ -51,10 +58,7 @@ public class BindingProcessor extends AbstractProcessor {
     // Generates a module for a given anchor using the collected services, repositories, and contracts
     private void generateModule(String anchor, List<TypeElement> svcs, List<TypeElement> repos, Set<TypeElement> contracts) {
         // Identify the associated Blade contract for this anchor
-        TypeElement owner = contracts.stream()
-                .filter(c -> anchor.equalsIgnoreCase(LocationResolver.resolveLocation(c)))
-                .findFirst()
-                .orElse(null);
+        TypeElement owner = model.contractFor(anchor);
 
         // Identify the package for the generated module
         String pkg = (owner != null) 
@@ -73,8 +77,38 @@ public class BindingProcessor extends AbstractProcessor {
         TypeSpec.Builder modBuilder = TypeSpec.interfaceBuilder(moduleCn)
                 .addModifiers(Modifier.PUBLIC);
 
+        // The module aggregates the anchor's contract, repositories and services
+        if (owner != null) modBuilder.addOriginatingElement(owner);
+        repos.forEach(modBuilder::addOriginatingElement);
+        svcs.forEach(modBuilder::addOriginatingElement);
+
         List<ClassName> subcomponents = new ArrayList<>();
 
+        // Every non-root anchor owns a (possibly empty) set of resources closed when its blade is removed
+        boolean teardown = !"App".equalsIgnoreCase(anchor);
+        AnnotationSpec teardownQualifier = AnnotationSpec.builder(ClassName.get("javax.inject", "Named"))
+                .addMember("value", "$S", NamingUtils.teardownQualifier(anchor))
+                .build();
+        if (teardown) {
+            modBuilder.addMethod(MethodSpec.methodBuilder("declare" + NamingUtils.toPascalCase(anchor) + "Closeables")
+                    .addAnnotation(ClassName.get("dagger.multibindings", "Multibinds"))
+                    .addAnnotation(teardownQualifier)
+                    .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                    .returns(ParameterizedTypeName.get(Set.class, AutoCloseable.class))
+                    .build());
+        }
+
+        // The root lets apps supply the Executor behind asynchronous repository methods
+        if (!teardown) {
+            modBuilder.addMethod(MethodSpec.methodBuilder("declareBladeExecutor")
+                    .addAnnotation(ClassName.get("dagger", "BindsOptionalOf"))
+                    .addAnnotation(AnnotationSpec.builder(ClassName.get("javax.inject", "Named"))
+                            .addMember("value", "$S", NamingUtils.EXECUTOR_QUALIFIER).build())
+                    .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                    .returns(ClassName.get("java.util.concurrent", "Executor"))
+                    .build());
+        }
+
         // 4. Repository Bindings
         for (TypeElement repo : repos) {
             // Safely grab the @Source annotation
@@ -99,6 +133,18 @@ public class BindingProcessor extends AbstractProcessor {
 
             ClassName impl = ClassName.get(repo).peerClass(repo.getSimpleName() + "_Repo");
             generateBinding(modBuilder, repo, ifaceType, impl, "Repo", Optional.empty(), owner);
+
+            // Closing the owning blade closes this repo, which tears down every child blade it holds
+            if (teardown) {
+                modBuilder.addMethod(MethodSpec.methodBuilder("bind" + repo.getSimpleName() + "Closeable")
+                        .addAnnotation(ClassName.get("dagger", "Binds"))
+                        .addAnnotation(ClassName.get("dagger.multibindings", "IntoSet"))
+                        .addAnnotation(teardownQualifier)
+                        .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                        .returns(AutoCloseable.class)
+                        .addParameter(impl, "impl")
+                        .build());
+            }
         }
             
         var moduleAnno = moduleAnno(modBuilder);
@@ -113,43 +159,51 @@ public class BindingProcessor extends AbstractProcessor {
         modBuilder.addAnnotation(moduleAnno.build());
 
         // 5. Services
+        TypeMirror autoCloseable = processingEnv.getElementUtils().getTypeElement(AutoCloseable.class.getName()).asType();
         for (TypeElement te : svcs) {
             ClassName teCn = ClassName.get(te);
-            TypeMirror bestIface = InterfaceSelector.selectBestInterface(te, processingEnv);
+            TypeMirror bestIface = model.bestInterface(te, processingEnv);
             if (bestIface == null) continue;
 
             Optional<? extends AnnotationMirror> strategy = BindingUtils.getStrategyMirror(te);
-            boolean isFactory = BindingUtils.hasMirror(te, AutoFactory.class.getName());
-            boolean isBuilder = BindingUtils.hasMirror(te, AutoBuilder.class.getName());
+            boolean isFactory = model.has(te, AutoFactory.class.getName());
+            boolean isBuilder = model.has(te, AutoBuilder.class.getName());
 
             if (!isFactory && !isBuilder) {
                 generateBinding(modBuilder, te, TypeName.get(bestIface), TypeName.get(te.asType()), "", strategy, owner);
+
+                // Scoped resources are closed with their blade; the contribution reuses the scoped binding
+                if (teardown && strategy.isEmpty() && !model.has(te, Transient.class.getName())
+                        && processingEnv.getTypeUtils().isAssignable(te.asType(), autoCloseable)) {
+                    modBuilder.addMethod(MethodSpec.methodBuilder("provide" + te.getSimpleName() + "Closeable")
+                            .addAnnotation(ClassName.get("dagger", "Provides"))
+                            .addAnnotation(ClassName.get("dagger.multibindings", "IntoSet"))
+                            .addAnnotation(teardownQualifier)
+                            .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                            .returns(AutoCloseable.class)
+                            .addParameter(TypeName.get(bestIface), "service")
+                            .addStatement("return ($T) service", AutoCloseable.class)
+                            .build());
+                }
             }
 
             if (isFactory) {
-                String shared = FactoryNaming.resolveName(te, processingEnv, strategy.isPresent() ? "?" : AutoFactory.class.getName(), "Factory");
-                String actual = FactoryNaming.resolveName(te, processingEnv, AutoFactory.class.getName(), "Factory");
+                String shared = FactoryNaming.resolveName(te, bestIface, processingEnv, strategy.isPresent() ? "?" : AutoFactory.class.getName(), "Factory");
+                String actual = FactoryNaming.resolveName(te, bestIface, processingEnv, AutoFactory.class.getName(), "Factory");
                 if (shared != null && actual != null && (!shared.equals(actual) || strategy.isPresent())) {
                     generateBinding(modBuilder, te, teCn.peerClass(shared), teCn.peerClass(actual), "Factory", strategy, owner);
                 }
             }
 
             if (isBuilder) {
-                String shared = FactoryNaming.resolveName(te, processingEnv, AutoBuilder.class.getName(), "Builder");
+                String shared = FactoryNaming.resolveName(te, bestIface, processingEnv, AutoBuilder.class.getName(), "Builder");
                 if (shared != null) {
                     generateBinding(modBuilder, te, teCn.peerClass(shared), teCn.peerClass(shared + "Impl"), "Builder", Optional.empty(), owner);
                 }
             }
         }
 
-        try {
-            JavaFile.builder(pkg, modBuilder.build()).skipJavaLangImports(true).build().writeTo(processingEnv.getFiler());
-        } catch (FilerException ignored) {
-            // This prevents duplicate file creation errors across rounds
-            System.out.println("Duplicate module detected");
-        } catch (IOException ignored) {
-            System.out.println("IO failed to generate module");
-        }
+        sources.add(pkg, modBuilder.build());
     }
 
     private void generateBinding(TypeSpec.Builder mod, TypeElement origin, TypeName iface, TypeName impl, 
@@ -165,15 +219,21 @@ public class BindingProcessor extends AbstractProcessor {
         if (strategy.isPresent()) {
             mb.addAnnotation(ClassName.get("dagger.multibindings", "IntoMap"));
             TypeElement keyDef = (TypeElement) strategy.get().getAnnotationType().asElement();
-            AnnotationValue enumVal = strategy.get().getElementValues().values().iterator().next();
+            Object key = strategy.get().getElementValues().values().iterator().next().getValue();
+            // Enum keys bind by constant, String keys by literal
+            CodeBlock keyValue = key instanceof VariableElement constant
+                    ? CodeBlock.of("$T.$L", TypeName.get(constant.asType()), constant.getSimpleName())
+                    : CodeBlock.of("$S", key);
             mb.addAnnotation(AnnotationSpec.builder(ClassName.get(keyDef).peerClass(keyDef.getSimpleName() + "Key"))
-                    .addMember("value", "$T.$L", TypeName.get(((VariableElement)enumVal.getValue()).asType()), 
-                            ((VariableElement)enumVal.getValue()).getSimpleName())
+                    .addMember("value", keyValue)
                     .build());
         }
 
-        String rawLoc = LocationResolver.resolveLocation(origin);
-        if (!BindingUtils.hasMirror(origin, Transient.class.getName())) {
+        String rawLoc = model.location(origin);
+        // A reusable builder is never scoped: every injection allocates its own, and reuse goes through local()
+        AutoBuilder builder = origin.getAnnotation(AutoBuilder.class);
+        boolean reusableBuilder = "Builder".equals(suffix) && builder != null && builder.reusable();
+        if (!reusableBuilder && !model.has(origin, Transient.class.getName())) {
             if ("App".equalsIgnoreCase(rawLoc) || "Singleton".equalsIgnoreCase(rawLoc)) {
                 mb.addAnnotation(ClassName.get("javax.inject", "Singleton"));
             } else if (owner != null) {
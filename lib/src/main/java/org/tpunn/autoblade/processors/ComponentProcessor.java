@@ -7,30 +7,37 @@ import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.*;
 import javax.lang.model.type.TypeMirror;
-import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
 @SupportedSourceVersion(SourceVersion.RELEASE_17)
 public class ComponentProcessor extends AbstractProcessor {
+    private RoundModel model;
+    private SourceWriter sources;
+
+    public void setModel(RoundModel model) {
+        this.model = model;
+    }
+
+    public void setSources(SourceWriter sources) {
+        this.sources = sources;
+    }
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         if (roundEnv.processingOver()) return false;
 
-        Set<TypeElement> allSeeds = FileCollector.collectManaged(roundEnv, Seed.class);
-        Set<TypeElement> allContracts = FileCollector.collectManaged(roundEnv, Blade.class);
-        Set<TypeElement> allRepos = FileCollector.collectManaged(roundEnv, Repository.class);
+        Set<TypeElement> allContracts = model.contracts();
         if (allContracts.isEmpty()) return true;
 
         // Group contracts by their anchor location
         Map<String, TypeElement> contractByLoc = allContracts.stream()
-                .collect(Collectors.toMap(LocationResolver::resolveLocation, c -> c, (a, b) -> a));
+                .collect(Collectors.toMap(model::location, c -> c, (a, b) -> a));
 
-        Map<String, List<TypeElement>> seedsByLoc = LocationResolver.groupByAnchor(allSeeds);
-        Map<String, List<TypeElement>> reposByLoc = LocationResolver.groupByAnchor(allRepos);
+        Map<String, List<TypeElement>> seedsByLoc = model.seedsByLocation();
+        Map<String, List<TypeElement>> reposByLoc = model.reposByLocation();
         
-        Set<String> allLocs = new HashSet<>(seedsByLoc.keySet());
+        Set<String> allLocs = new TreeSet<>(seedsByLoc.keySet());
         allLocs.add("App");
         allLocs.addAll(contractByLoc.keySet());
 
@@ -84,12 +91,29 @@ public class ComponentProcessor extends AbstractProcessor {
 
         if (contract != null) comp.addSuperinterface(TypeName.get(contract.asType()));
 
+        // The component is derived from its contract, seed and the repositories that source child blades
+        if (contract != null) comp.addOriginatingElement(contract);
+        seeds.forEach(comp::addOriginatingElement);
+        reposForThisAnchor.forEach(comp::addOriginatingElement);
+
+        // Resources owned by this blade, closed by the parent repository when the blade is removed
+        if (!isApp) {
+            comp.addMethod(MethodSpec.methodBuilder("autoCloseables")
+                    .addAnnotation(AnnotationSpec.builder(ClassName.get("javax.inject", "Named"))
+                            .addMember("value", "$S", NamingUtils.teardownQualifier(loc))
+                            .build())
+                    .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                    .returns(ParameterizedTypeName.get(Set.class, AutoCloseable.class))
+                    .build());
+        }
+
         // 2. Add Builders for CHILDREN (Sourced by this anchor's repos)
         for (TypeElement repo : reposForThisAnchor) {
             Source source = repo.getAnnotation(Source.class);
             if (source != null && !source.value().equalsIgnoreCase(loc)) {
                 String childLoc = source.value();
                 TypeElement childContract = contractByLoc.get(childLoc);
+                if (childContract != null) comp.addOriginatingElement(childContract);
                 String childPkg = childContract != null ? GeneratedPackageResolver.getPackage(childContract, processingEnv) : rootPkg;
                 
                 comp.addMethod(MethodSpec.methodBuilder("get" + NamingUtils.toPascalCase(childLoc) + "Builder")
@@ -134,16 +158,16 @@ public class ComponentProcessor extends AbstractProcessor {
         ClassName daggerComp = ClassName.get(pkg, "Dagger" + componentCn.simpleName());
         TypeName returnType = rootContract != null ? TypeName.get(rootContract.asType()) : componentCn;
 
-        TypeSpec wrapper = TypeSpec.classBuilder("AutoBladeApp")
+        TypeSpec.Builder wrapper = TypeSpec.classBuilder("AutoBladeApp")
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addMethod(MethodSpec.methodBuilder("start")
                         .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
                         .returns(returnType)
                         .addStatement("return $T.create()", daggerComp)
-                        .build())
-                .build();
+                        .build());
+        if (rootContract != null) wrapper.addOriginatingElement(rootContract);
 
-        writeFile(pkg, wrapper);
+        writeFile(pkg, wrapper.build());
     }
 
     private AnnotationSpec buildDaggerAnnotation(String daggerType, ClassName autoModule, TypeElement contract) {
@@ -167,11 +191,7 @@ public class ComponentProcessor extends AbstractProcessor {
     }
 
     private void writeFile(String pkg, TypeSpec spec) {
-        try {
-            JavaFile.builder(pkg, spec).skipJavaLangImports(true).build().writeTo(processingEnv.getFiler());
-        } catch (IOException ignored) {
-            System.out.println("Failed to generate component.");
-        }
+        sources.add(pkg, spec);
     }
 
     @Override
@@ -10,8 +10,8 @@ import javax.annotation.processing.*;
 import javax.inject.Inject;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.*;
+import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.ElementFilter;
-import java.io.IOException;
 import java.util.*;
 
 @SupportedSourceVersion(SourceVersion.RELEASE_17)
@@ -20,20 +20,31 @@ import java.util.*;
     "org.tpunn.autoblade.annotations.AutoBuilder"
 })
 public class FactoryProcessor extends AbstractProcessor {
+    private RoundModel model;
+    private SourceWriter sources;
+
+    public void setModel(RoundModel model) {
+        this.model = model;
+    }
+
+    public void setSources(SourceWriter sources) {
+        this.sources = sources;
+    }
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         if (roundEnv.processingOver()) return false;
 
-        Set<TypeElement> elements = FileCollector.collectManaged(roundEnv, Set.of(AutoFactory.class, AutoBuilder.class));
+        Set<TypeElement> elements = model.factories();
         
         for (TypeElement element : elements) {
             // FIX: Use ClassName to resolve the origin package directly
             ClassName originCn = ClassName.get(element);
             String pkg = originCn.packageName();
 
-            String factoryName = FactoryNaming.resolveName(element, processingEnv, AutoFactory.class.getName(), "Factory");
-            String builderName = FactoryNaming.resolveName(element, processingEnv, AutoBuilder.class.getName(), "Builder");
+            TypeMirror iface = model.bestInterface(element, processingEnv);
+            String factoryName = FactoryNaming.resolveName(element, iface, processingEnv, AutoFactory.class.getName(), "Factory");
+            String builderName = FactoryNaming.resolveName(element, iface, processingEnv, AutoBuilder.class.getName(), "Builder");
 
             if (factoryName != null) {
                 generateFactory(pkg, element, factoryName);
@@ -63,12 +74,12 @@ public class FactoryProcessor extends AbstractProcessor {
         Optional<? extends AnnotationMirror> strategy = BindingUtils.getStrategyMirror(type);
         if (strategy.isPresent()) {
             // Generate the shared interface (Strategy-agnostic)
-            String sharedName = FactoryNaming.resolveName(type, processingEnv, "?", "Factory");
+            String sharedName = FactoryNaming.resolveName(type, model.bestInterface(type, processingEnv), processingEnv, "?", "Factory");
             TypeSpec sharedIface = TypeSpec.interfaceBuilder(sharedName)
                     .addModifiers(Modifier.PUBLIC)
                     .addMethod(createMethod.build())
                     .build();
-            writeSource(pkg, sharedIface);
+            writeSource(pkg, sharedIface, type);
 
             // Generate the AssistedFactory implementation
             TypeSpec factoryIface = TypeSpec.interfaceBuilder(factoryName)
@@ -77,7 +88,7 @@ public class FactoryProcessor extends AbstractProcessor {
                     .addSuperinterface(ClassName.get(pkg, sharedName))
                     .addMethod(createMethod.build())
                     .build();
-            writeSource(pkg, factoryIface);
+            writeSource(pkg, factoryIface, type);
         } else {
             // Standard AssistedFactory
             TypeSpec factoryIface = TypeSpec.interfaceBuilder(factoryName)
@@ -85,41 +96,52 @@ public class FactoryProcessor extends AbstractProcessor {
                     .addAnnotation(AssistedFactory.class)
                     .addMethod(createMethod.build())
                     .build();
-            writeSource(pkg, factoryIface);
+            writeSource(pkg, factoryIface, type);
         }
     }
 
     private void generateBuilder(String pkg, TypeElement type, String builderName, String factoryName) {
         ExecutableElement constructor = findAssistedConstructor(type);
         ClassName factoryClass = ClassName.get(pkg, factoryName);
-        TypeName returnType = TypeName.get(InterfaceSelector.selectBestInterface(type, processingEnv));
+        TypeName returnType = TypeName.get(model.bestInterface(type, processingEnv));
         ClassName builderCn = ClassName.get(pkg, builderName);
+        ClassName implCn = ClassName.get(pkg, builderName + "Impl");
+        AutoBuilder anno = type.getAnnotation(AutoBuilder.class);
+        boolean reusable = anno != null && anno.reusable();
 
         // 1. Builder Interface
         TypeSpec.Builder ifaceBuilder = TypeSpec.interfaceBuilder(builderName)
                 .addModifiers(Modifier.PUBLIC);
 
         // 2. Builder Implementation
-        TypeSpec.Builder implBuilder = TypeSpec.classBuilder(builderName + "Impl")
+        TypeSpec.Builder implBuilder = TypeSpec.classBuilder(implCn)
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addSuperinterface(builderCn);
 
-        implBuilder.addField(factoryClass, "factory", Modifier.PRIVATE, Modifier.FINAL);
-        implBuilder.addMethod(MethodSpec.constructorBuilder()
+        // Pooled local() builders drop their factory when returned, so it cannot be final for them
+        if (reusable) implBuilder.addField(factoryClass, "factory", Modifier.PRIVATE);
+        else implBuilder.addField(factoryClass, "factory", Modifier.PRIVATE, Modifier.FINAL);
+        MethodSpec.Builder injectCtor = MethodSpec.constructorBuilder()
                 .addAnnotation(Inject.class)
                 .addModifiers(Modifier.PUBLIC)
                 .addParameter(factoryClass, "factory")
-                .addStatement("this.factory = factory")
-                .build());
+                .addStatement("this.factory = factory");
 
         List<String> assistedParamNames = new ArrayList<>();
+        List<ParameterSpec> assistedParams = new ArrayList<>();
+        MethodSpec.Builder reset = MethodSpec.methodBuilder("reset")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(builderCn);
         for (VariableElement param : constructor.getParameters()) {
             if (param.getAnnotation(Assisted.class) != null) {
                 String pName = param.getSimpleName().toString();
                 assistedParamNames.add(pName);
+                assistedParams.add(ParameterSpec.get(param));
                 TypeName pType = TypeName.get(param.asType());
 
                 implBuilder.addField(pType, pName, Modifier.PRIVATE);
+                reset.addStatement("this.$N = $L", pName, defaultValue(pType));
                 
                 // Method for Implementation (with body)
                 implBuilder.addMethod(MethodSpec.methodBuilder(pName)
@@ -139,13 +161,14 @@ public class FactoryProcessor extends AbstractProcessor {
                         .build());
             }
         }
+        String args = String.join(", ", assistedParamNames);
 
         // Build method for Implementation
         implBuilder.addMethod(MethodSpec.methodBuilder("build")
                 .addAnnotation(Override.class)
                 .addModifiers(Modifier.PUBLIC)
                 .returns(returnType)
-                .addStatement("return factory.create($L)", String.join(", ", assistedParamNames))
+                .addCode(create(reusable, args))
                 .build());
 
         // Build method for Interface
@@ -154,8 +177,88 @@ public class FactoryProcessor extends AbstractProcessor {
                 .returns(returnType)
                 .build());
 
-        writeSource(pkg, ifaceBuilder.build());
-        writeSource(pkg, implBuilder.build());
+        // Direct overload: skips the builder state entirely and goes straight to the factory
+        if (!assistedParams.isEmpty()) {
+            implBuilder.addMethod(MethodSpec.methodBuilder("build")
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(returnType)
+                    .addParameters(assistedParams)
+                    .addCode(create(reusable, args))
+                    .build());
+            ifaceBuilder.addMethod(MethodSpec.methodBuilder("build")
+                    .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                    .returns(returnType)
+                    .addParameters(assistedParams)
+                    .build());
+        }
+
+        // Clears every assisted value so the builder can be filled again
+        implBuilder.addMethod(reset.addStatement("return this").build());
+        ifaceBuilder.addMethod(MethodSpec.methodBuilder("reset")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(builderCn)
+                .build());
+
+        if (reusable) {
+            // local() lends builders from a per-thread pool of this type. Pooled builders hold neither a factory nor
+            // assisted values, so the pool never pins a component, and nested builds each get their own builder
+            TypeName poolType = ParameterizedTypeName.get(ClassName.get(ThreadLocal.class),
+                    ParameterizedTypeName.get(ClassName.get(ArrayDeque.class), implCn));
+            implBuilder.addField(FieldSpec.builder(poolType, "POOL", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("$T.withInitial($T::new)", ThreadLocal.class, ArrayDeque.class)
+                    .build());
+            implBuilder.addField(boolean.class, "pooled", Modifier.PRIVATE, Modifier.FINAL);
+            injectCtor.addStatement("this.pooled = false");
+            implBuilder.addMethod(MethodSpec.constructorBuilder()
+                    .addModifiers(Modifier.PRIVATE)
+                    .addStatement("this.pooled = true")
+                    .build());
+            implBuilder.addMethod(MethodSpec.methodBuilder("local")
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(builderCn)
+                    .addStatement("$T builder = POOL.get().poll()", implCn)
+                    .addStatement("if (builder == null) builder = new $T()", implCn)
+                    .addStatement("builder.factory = factory")
+                    .addStatement("return builder")
+                    .build());
+            implBuilder.addMethod(MethodSpec.methodBuilder("release")
+                    .addModifiers(Modifier.PRIVATE)
+                    .addStatement("factory = null")
+                    .addStatement("reset()")
+                    .addStatement("POOL.get().push(this)")
+                    .build());
+            ifaceBuilder.addMethod(MethodSpec.methodBuilder("local")
+                    .addJavadoc("A reset builder lent by the calling thread's pool; build() returns it, so do not use it afterwards\n"
+                            + "or share it across threads.\n")
+                    .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                    .returns(builderCn)
+                    .build());
+        }
+        implBuilder.addMethod(injectCtor.build());
+
+        writeSource(pkg, ifaceBuilder.build(), type);
+        writeSource(pkg, implBuilder.build(), type);
+    }
+
+    /** Calls the factory; a builder lent by local() goes back to its thread's pool once it has built. */
+    private static CodeBlock create(boolean reusable, String args) {
+        if (!reusable) return CodeBlock.builder().addStatement("return factory.create($L)", args).build();
+        return CodeBlock.builder()
+                .addStatement("if (factory == null) throw new $T($S)", IllegalStateException.class,
+                        "This local() builder was already built and returned to its pool")
+                .beginControlFlow("try")
+                .addStatement("return factory.create($L)", args)
+                .nextControlFlow("finally")
+                .addStatement("if (pooled) release()")
+                .endControlFlow()
+                .build();
+    }
+
+    private static String defaultValue(TypeName type) {
+        if (!type.isPrimitive()) return "null";
+        return type.equals(TypeName.BOOLEAN) ? "false" : "0";
     }
 
     private ExecutableElement findAssistedConstructor(TypeElement type) {
@@ -165,12 +268,7 @@ public class FactoryProcessor extends AbstractProcessor {
                 .orElseThrow(() -> new RuntimeException(type + " missing @AssistedInject"));
     }
 
-    private void writeSource(String pkg, TypeSpec spec) {
-        try {
-            JavaFile.builder(pkg, spec)
-                    .skipJavaLangImports(true)
-                    .build()
-                    .writeTo(processingEnv.getFiler());
-        } catch (IOException ignored) {}
+    private void writeSource(String pkg, TypeSpec spec, TypeElement origin) {
+        sources.add(pkg, spec.toBuilder().addOriginatingElement(origin).build());
     }
 }
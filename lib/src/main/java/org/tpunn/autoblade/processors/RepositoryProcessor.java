@@ -1,21 +1,25 @@
 package org.tpunn.autoblade.processors;
 
 import com.squareup.javapoet.*;
+import org.tpunn.autoblade.annotations.Concurrent;
+import org.tpunn.autoblade.annotations.Lookup;
 import org.tpunn.autoblade.annotations.Repository;
+import org.tpunn.autoblade.annotations.Seed;
 import org.tpunn.autoblade.utilities.BindingUtils;
-import org.tpunn.autoblade.utilities.FileCollector;
 import org.tpunn.autoblade.utilities.GeneratedPackageResolver;
-import org.tpunn.autoblade.utilities.LocationResolver;
 import org.tpunn.autoblade.utilities.NamingUtils;
+import org.tpunn.autoblade.utilities.RoundModel;
+import org.tpunn.autoblade.utilities.RuntimeTemplates;
+import org.tpunn.autoblade.utilities.SourceWriter;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.RoundEnvironment;
 import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.lang.model.element.*;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import javax.tools.Diagnostic;
 import java.util.*;
 
 /**
@@ -24,32 +28,44 @@ import java.util.*;
  */
 public class RepositoryProcessor extends AbstractProcessor {
 
-    private boolean registryGenerated = false;
-    private Map<String, TypeElement> anchorToSeedMap = new HashMap<>();
+    /** Processor option fixing the number of {@code BladeRegistry} partitions (rounded up to a power of two). */
+    public static final String OPTION_REGISTRY_SHARDS = "autoblade.registry.shards";
+    private static final int DEFAULT_REGISTRY_SHARDS = 16;
+    private static final int MAX_REGISTRY_SHARDS = 1 << 16;
 
-    public void setAnchorMap(Map<String, TypeElement> map) {
-        this.anchorToSeedMap = map;
+    private RoundModel model;
+    private SourceWriter sources;
+    private RuntimeTemplates templates;
+    /** Per-anchor deep-search indexes requested by this round's repositories, generated once each */
+    private final Map<ClassName, IndexSpec> indexes = new TreeMap<>(Comparator.comparing(ClassName::canonicalName));
+    /** Indexes already written in an earlier round; a later round's repositories reuse them instead of re-emitting */
+    private final Set<ClassName> generatedIndexes = new HashSet<>();
+
+    public void setModel(RoundModel model) {
+        this.model = model;
+    }
+
+    public void setSources(SourceWriter sources) {
+        this.sources = sources;
+    }
+
+    public void setTemplates(RuntimeTemplates templates) {
+        this.templates = templates;
     }
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         if (roundEnv.processingOver()) return false;
 
-        Set<TypeElement> repos = FileCollector.collectManaged(roundEnv, Repository.class);
+        Set<TypeElement> repos = model.repositories();
         if (repos.isEmpty()) return true;
 
         for (TypeElement repo : repos) {
             // Generate Peer-to-Peer: lives in the same package as the interface
             String pkg = GeneratedPackageResolver.getPackage(repo, processingEnv);
-            
-            if (!registryGenerated) {
-                generateBladeRegistry(pkg, repo);
-                generateRepoOps(pkg, repo);
-                registryGenerated = true;
-            }
-
             generateRepoImpl(repo, pkg);
         }
+        generateIndexes();
         return true;
     }
 
@@ -70,7 +86,7 @@ public class RepositoryProcessor extends AbstractProcessor {
         ClassName builderType = autoBladeType.nestedClass("Builder");
         TypeName providerType = ParameterizedTypeName.get(ClassName.get(Provider.class), builderType);
 
-        String anchor = LocationResolver.resolveLocation(repo);
+        String anchor = model.location(repo);
         AnnotationSpec scopeAnnotation;
         if ("App".equalsIgnoreCase(anchor)) {
             // Root level always uses Singleton
@@ -95,36 +111,87 @@ public class RepositoryProcessor extends AbstractProcessor {
             builder.superclass(TypeName.get(repo.asType()));
         }
 
-        ClassName registryType = ClassName.get(pkg, "BladeRegistry");
-        ClassName repoOps = ClassName.get(pkg, "RepoOps");
+        // Runtime support classes live in one shared package, wherever this repo is
+        ClassName registryType = templates.require("BladeRegistry", repo, Map.of("SHARDS", String.valueOf(resolveShardCount())));
+        ClassName repoOps = templates.require("RepoOps", repo);
+        for (String cache : List.of("BladeCache", "ConfinedMap", "CopyOnWriteMap", "StripedMap")) {
+            templates.require(cache, repo);
+        }
+        ClassName metrics = templates.metricsEnabled() ? templates.require("BladeMetrics", repo) : null;
 
         builder.addField(registryType, "registry", Modifier.PRIVATE, Modifier.FINAL)
                .addField(providerType, "builderProvider", Modifier.PRIVATE, Modifier.FINAL);
 
-        builder.addMethod(MethodSpec.constructorBuilder()
+        MethodSpec.Builder ctor = MethodSpec.constructorBuilder()
                 .addAnnotation(Inject.class)
                 .addParameter(registryType, "registry")
                 .addParameter(providerType, "builderProvider")
                 .addStatement("this.registry = registry")
-                .addStatement("this.builderProvider = builderProvider")
-                .build());
+                .addStatement("this.builderProvider = builderProvider");
+
+        if (metrics != null) {
+            builder.addField(FieldSpec.builder(metrics.nestedClass("RepoMeter"), "METRICS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("$T.repo($S)", metrics, bladeBase)
+                    .build());
+            ctor.addStatement("$T.registry(registry, $T::size, $T::reclaimedCount)", metrics, registryType, registryType);
+        }
+
+        // Anchored repos register their blades under the anchor's blade type and ID, read once from the bound seed
+        TypeElement anchorSeed = "App".equalsIgnoreCase(anchor) ? null : model.anchorMap().get(anchor.toLowerCase());
+        CodeBlock parentRef = CodeBlock.of("null, null");
+        if (anchorSeed != null) {
+            String parentAccessor = BindingUtils.resolveIdAccessor(anchorSeed);
+            builder.addField(TypeName.get(BindingUtils.resolveIdType(anchorSeed)), "parentId", Modifier.PRIVATE, Modifier.FINAL);
+            ctor.addParameter(TypeName.get(anchorSeed.asType()), "anchorSeed")
+                .addStatement("this.parentId = $L", parentAccessor.isEmpty() ? "anchorSeed" : "anchorSeed." + parentAccessor);
+            parentRef = CodeBlock.of("$T.class, parentId", anchorBlade(anchor));
+        }
+
+        // Asynchronous methods run on the app's @Named("autoblade.executor") Executor, else on virtual threads
+        boolean async = repo.getEnclosedElements().stream()
+                .anyMatch(e -> e instanceof ExecutableElement m && m.getModifiers().contains(Modifier.ABSTRACT) && BindingUtils.isAsync(m));
+        if (async) {
+            ClassName executor = ClassName.get("java.util.concurrent", "Executor");
+            builder.addField(executor, "executor", Modifier.PRIVATE, Modifier.FINAL);
+            ctor.addParameter(ParameterSpec.builder(ParameterizedTypeName.get(ClassName.get(Optional.class), executor), "executor")
+                            .addAnnotation(AnnotationSpec.builder(ClassName.get("javax.inject", "Named"))
+                                    .addMember("value", "$S", NamingUtils.EXECUTOR_QUALIFIER).build())
+                            .build())
+                .addStatement("this.executor = executor.orElseGet($T::virtualThreads)", repoOps);
+        }
 
-        boolean isConcurrent = BindingUtils.hasAnnotation(repo, "org.tpunn.autoblade.annotations.Concurrent");
+        RepoContext ctx = new RepoContext(repo, bladeBase, BindingUtils.parseBladeTypeFromRepo(repo), autoBladeType,
+                repo.getAnnotation(Concurrent.class), repoOps, parentRef, repo.getAnnotation(Repository.class), BindingUtils.findLoader(repo), metrics != null,
+                templates.require("BladeEvents", repo), ctor);
         
         for (Element e : repo.getEnclosedElements()) {
             if (e == null || e.getKind() != ElementKind.METHOD) continue;
             ExecutableElement m = (ExecutableElement) e;
             
             if (m.getModifiers().contains(Modifier.ABSTRACT)) {
-                processMethod(builder, m, bladeBase, isConcurrent, repoOps);
+                processMethod(builder, m, ctx);
             }
         }
 
+        addTeardown(builder, ctx);
+        // Built last: deep searches and registration add their anchor indexes as dependencies
+        builder.addMethod(ctor.build());
         writeFile(repo, pkg, builder.build());
     }
 
-    private void processMethod(TypeSpec.Builder builder, ExecutableElement m, String repoBladeBase, boolean isConcurrent, ClassName repoOps) {
-        if (m.getParameters().isEmpty()) return;
+    private void processMethod(TypeSpec.Builder builder, ExecutableElement m, RepoContext ctx) {
+        if (m.getParameters().isEmpty()) {
+            if (BindingUtils.hasAnnotation(m, "org.tpunn.autoblade.annotations.Remove")) {
+                processRelease(builder, m, ctx);
+            } else {
+                processTypeScan(builder, m, ctx);
+            }
+            return;
+        }
+        if (m.getParameters().size() > 1) {
+            processPath(builder, m, ctx);
+            return;
+        }
         
         VariableElement param = m.getParameters().get(0);
         if (param == null) return;
@@ -133,14 +200,21 @@ public class RepositoryProcessor extends AbstractProcessor {
         MethodSpec.Builder mb = MethodSpec.overriding(m);
 
         // 1. Identify what we are looking for (Blade -> Anchor -> Seed)
-        TypeName targetBlade = BindingUtils.extractBladeType(m);
+        boolean isRemove = BindingUtils.hasAnnotation(m, "org.tpunn.autoblade.annotations.Remove");
+        TypeName targetBlade = isRemove ? ctx.blade() : BindingUtils.extractBladeType(m);
         String targetAnchor = BindingUtils.parseAnchorFromBladeName(targetBlade).toLowerCase();
-        TypeElement targetSeed = anchorToSeedMap.get(targetAnchor);
+        TypeElement targetSeed = model.anchorMap().get(targetAnchor);
 
         // 2. Resolve the ID Schema for that Seed
         TypeMirror targetIdType = BindingUtils.resolveIdType(targetSeed);
         String accessor = BindingUtils.resolveIdAccessor(targetSeed);
 
+        // Bulk forms take a Collection of seeds (@Create) or IDs (@Lookup)
+        if (BindingUtils.collectionElement(paramType, processingEnv) != null) {
+            processBulk(builder, m, paramName, targetBlade, targetSeed, TypeName.get(targetIdType), ctx);
+            return;
+        }
+
         // 3. Confirm if the param is good enough already
         boolean isIdParam = processingEnv.getTypeUtils().isSameType(paramType, targetIdType);
         
@@ -148,71 +222,410 @@ public class RepositoryProcessor extends AbstractProcessor {
         String idRef = isIdParam ? paramName : (accessor.isEmpty() ? paramName : paramName + "." + accessor);
 
         if (BindingUtils.hasAnnotation(m, "org.tpunn.autoblade.annotations.Create")) {
-            ensureCacheField(builder, m.getReturnType(), TypeName.get(targetIdType), repoBladeBase, isConcurrent);
-
-            CodeBlock lambdaBody = CodeBlock.builder()
-                .add("var blade = builderProvider.get().seed($L).build();\n", paramName)
-                .add("registry.register($L, blade, null);\n", idRef)
-                .add("return blade;")
-                .build();
+            ensureCacheField(builder, targetBlade, TypeName.get(targetIdType), ctx);
+            ensureAssemble(builder, targetBlade, targetSeed, ctx);
+            String pending = ensurePendingField(builder, ctx);
 
             // Raw Map cast to solve CAP#2 generic capture errors
-            mb.addStatement("return $T.createAtomic(($T)$L, $L, () -> {\n$L\n})", 
-                    repoOps, Map.class, repoBladeBase.toLowerCase() + "Cache", idRef, lambdaBody);            
+            mb.addStatement("return $T.createAtomic(($T)$L, $L, $L, () -> assemble($L))", 
+                    ctx.repoOps(), Map.class, ctx.cacheName(), pending, idRef, paramName);            
+
+        } else if (isRemove) {
+            ensureCacheField(builder, targetBlade, TypeName.get(targetIdType), ctx);
+
+            mb.addStatement("$T removed = $T.remove(($T)$L, $L)", targetBlade, ctx.repoOps(), Map.class, ctx.cacheName(), idRef);
+            mb.addStatement("if (removed != null) teardown($L, removed)", idRef);
+            TypeName returnType = TypeName.get(BindingUtils.resultType(m));
+            if (returnType.equals(TypeName.BOOLEAN) || returnType.equals(TypeName.BOOLEAN.box())) {
+                mb.addStatement("return removed != null");
+            } else if (returnType.toString().contains("java.util.Optional")) {
+                mb.addStatement("return $T.ofNullable(removed)", Optional.class);
+            } else if (!returnType.equals(TypeName.VOID)) {
+                mb.addStatement("return removed");
+            }
+
+        } else if (BindingUtils.hasAnnotation(m, "org.tpunn.autoblade.annotations.Lookup")
+                && m.getAnnotation(Lookup.class).load()) {
+            ensureCacheField(builder, targetBlade, TypeName.get(targetIdType), ctx);
+            ensureAssemble(builder, targetBlade, targetSeed, ctx);
+            String pending = ensurePendingField(builder, ctx);
+
+            // Misses for the same ID share one seed load and one blade construction
+            CodeBlock load = CodeBlock.builder()
+                .add("$T.loadAtomic(($T)$L, $L, $L, () -> {\n", ctx.repoOps(), Map.class, ctx.cacheName(), pending, idRef)
+                .indent()
+                .add("$T seed = $N($L);\n", TypeName.get(targetSeed.asType()), ctx.loader().getSimpleName().toString(), idRef)
+                .add("return seed == null ? null : assemble(seed);\n")
+                .unindent()
+                .add("})")
+                .build();
+            // Peek first so hits and misses are told apart; a miss falls through to the coalesced load
+            localLookup(mb, ctx, targetBlade, "cached", idRef);
+            load = CodeBlock.of("(cached != null ? cached : ($T) $L)", targetBlade, load);
+            if (TypeName.get(BindingUtils.resultType(m)).toString().contains("java.util.Optional")) {
+                mb.addStatement("return $T.ofNullable(($T) $L)", Optional.class, targetBlade, load);
+            } else {
+                mb.addStatement("return ($T) $L", targetBlade, load);
+            }
 
         } else if (BindingUtils.hasAnnotation(m, "org.tpunn.autoblade.annotations.Lookup")) {
-            TypeName returnType = TypeName.get(m.getReturnType());
+            TypeName returnType = TypeName.get(BindingUtils.resultType(m));
+            boolean local = !returnType.toString().contains("java.util.Optional")
+                    && !returnType.toString().contains("java.util.Set") && !returnType.toString().contains("java.util.List");
+            if (!local) meter(mb, ctx, "searched()");
+            // Deep searches go straight to the target anchor's typed index
+            String index = local ? null : ensureIndex(builder, ctx, targetBlade, targetSeed);
             if (returnType.toString().contains("java.util.Optional")) {
-                mb.addStatement("return registry.<$T>find($L)", targetBlade, idRef);
-            } else if (returnType.toString().contains("java.util.Set") || returnType.toString().contains("java.util.List")) {
-                mb.addStatement("return registry.findAll($L, $T.class)", idRef, targetBlade);
+                mb.addStatement("return $N.find($L)", index, idRef);
+            } else if (returnType.toString().contains("java.util.Set")) {
+                mb.addStatement("return $N.findAll($L)", index, idRef);
+            } else if (returnType.toString().contains("java.util.List")) {
+                mb.addStatement("return new $T<>($N.findAll($L))", ArrayList.class, index, idRef);
             } else {
                 // Local cache hit with explicit return type cast
-                mb.addStatement("return ($T) $L.get($L)", targetBlade, repoBladeBase.toLowerCase() + "Cache", idRef);
+                localLookup(mb, ctx, targetBlade, "blade", idRef);
+                mb.addStatement("return blade");
             }
         }
-        builder.addMethod(mb.build());
+        emit(builder, m, mb);
+    }
+
+    /**
+     * Adds a generated repository method. A method returning CompletableFuture gets a private blocking
+     * twin holding the generated body, and itself only hands that twin to the repository's executor.
+     */
+    private void emit(TypeSpec.Builder builder, ExecutableElement m, MethodSpec.Builder mb) {
+        MethodSpec spec = mb.build();
+        if (!BindingUtils.isAsync(m)) {
+            builder.addMethod(spec);
+            return;
+        }
+        String blocking = spec.name + "Blocking";
+        builder.addMethod(MethodSpec.methodBuilder(blocking)
+                .addModifiers(Modifier.PRIVATE)
+                .returns(TypeName.get(BindingUtils.resultType(m)))
+                .addParameters(spec.parameters)
+                .addCode(spec.code)
+                .build());
+        String args = String.join(", ", spec.parameters.stream().map(p -> p.name).toList());
+        builder.addMethod(MethodSpec.overriding(m)
+                .addStatement("return $T.supplyAsync(() -> $N($L), executor)",
+                        ClassName.get("java.util.concurrent", "CompletableFuture"), blocking, args)
+                .build());
+    }
+
+    /**
+     * Bulk creates build every missing blade outside the cache's locks and register the batch in one
+     * registry call; bulk lookups read the whole batch from the local cache in one pass.
+     */
+    private void processBulk(TypeSpec.Builder builder, ExecutableElement m, String paramName, TypeName targetBlade,
+                             TypeElement targetSeed, TypeName targetIdType, RepoContext ctx) {
+        ensureCacheField(builder, targetBlade, targetIdType, ctx);
+        MethodSpec.Builder mb = MethodSpec.overriding(m);
+        if (BindingUtils.hasAnnotation(m, "org.tpunn.autoblade.annotations.Create")) {
+            String pending = ensurePendingField(builder, ctx);
+            ensureConstruct(builder, targetBlade, targetSeed, ctx);
+            CodeBlock register = ctx.ephemeral()
+                    ? CodeBlock.of("(ids, blades) -> {}")
+                    : CodeBlock.of("(ids, blades) -> {\n$>registry.registerAll(ids, blades, $L, $T.class);\n$N.registerAll(($T) ids, blades);\n$<}",
+                            ctx.parentRef(), targetBlade, ensureIndex(builder, ctx, targetBlade, targetSeed), List.class);
+            mb.addStatement("return $T.createAll(($T)$L, $L, $L, seed -> $L, this::construct,\n$L)",
+                    ctx.repoOps(), Map.class, ctx.cacheName(), pending, paramName, seedIdRef("seed", targetSeed), register);
+        } else {
+            ClassName lookup = ctx.events().nestedClass("BulkLookup");
+            mb.addStatement("$T lookup = new $T()", lookup, lookup)
+              .addStatement("lookup.begin()")
+              .addStatement("$T found = $T.getAll(($T)$L, $L)", TypeName.get(m.getReturnType()), ctx.repoOps(), Map.class, ctx.cacheName(), paramName);
+            // One counter update and one event per batch: found IDs are hits and the rest misses, so a repeated ID is a miss
+            meter(mb, ctx, "lookups(" + paramName + ".size(), found.size())");
+            mb.addStatement("lookup.finish($S, $L.size(), found.size())", ctx.bladeBase(), paramName)
+              .addStatement("return found");
+        }
+        emit(builder, m, mb);
     }
 
-    private void ensureCacheField(TypeSpec.Builder b, TypeMirror valType, TypeName idType, String blade, boolean concurrent) {
-        String name = blade.toLowerCase() + "Cache";
+    /** Parameterless removes release every cached blade in one pass, e.g. a whole request arena. */
+    private void processRelease(TypeSpec.Builder builder, ExecutableElement m, RepoContext ctx) {
+        TypeElement seed = model.anchorMap().get(BindingUtils.parseAnchorFromBladeName(ctx.blade()).toLowerCase());
+        ensureCacheField(builder, ctx.blade(), TypeName.get(BindingUtils.resolveIdType(seed)), ctx);
+        MethodSpec.Builder mb = MethodSpec.overriding(m);
+        CodeBlock release = CodeBlock.of("$T.<$T>removeAll(($T)$L, this::teardown)", ctx.repoOps(), ctx.blade(), Map.class, ctx.cacheName());
+        if (m.getReturnType().getKind() == TypeKind.VOID) {
+            mb.addStatement("$L", release);
+        } else {
+            mb.addStatement("return $L", release);
+        }
+        emit(builder, m, mb);
+    }
+
+    /** Parameterless collection lookups read the registry's per-type index: every live blade of the type. */
+    private void processTypeScan(TypeSpec.Builder builder, ExecutableElement m, RepoContext ctx) {
+        if (!BindingUtils.hasAnnotation(m, "org.tpunn.autoblade.annotations.Lookup")) return;
+
+        TypeName targetBlade = BindingUtils.extractBladeType(m);
+        String returnType = TypeName.get(BindingUtils.resultType(m)).toString();
+        TypeElement targetSeed = model.anchorMap().get(BindingUtils.parseAnchorFromBladeName(targetBlade).toLowerCase());
+        MethodSpec.Builder mb = MethodSpec.overriding(m);
+        meter(mb, ctx, "searched()");
+        // Seedless blade types have no anchor index; fall back to the registry's type scan
+        CodeBlock scan = targetSeed == null
+                ? CodeBlock.of("registry.all($T.class)", targetBlade)
+                : CodeBlock.of("$N.all()", ensureIndex(builder, ctx, targetBlade, targetSeed));
+        if (returnType.contains("java.util.List")) {
+            mb.addStatement("return new $T<>($L)", ArrayList.class, scan);
+        } else {
+            mb.addStatement("return $L", scan);
+        }
+        emit(builder, m, mb);
+    }
+
+    /**
+     * Multi-key lookups (root ID first, leaf ID last) navigate the registry's per-parent child maps:
+     * one hash lookup per level instead of resolving each blade and its repository in turn.
+     */
+    private void processPath(TypeSpec.Builder builder, ExecutableElement m, RepoContext ctx) {
+        if (!BindingUtils.hasAnnotation(m, "org.tpunn.autoblade.annotations.Lookup")) return;
+
+        TypeName targetBlade = BindingUtils.extractBladeType(m);
+        List<String> ids = m.getParameters().stream().map(p -> p.getSimpleName().toString()).toList();
+        // The Validator has already checked that every key names exactly one parent anchor
+        List<String> anchors = model.pathAnchors(BindingUtils.parseAnchorFromBladeName(targetBlade), m.getParameters(),
+                processingEnv.getTypeUtils());
+        if (anchors == null) return;
+        List<CodeBlock> ancestors = anchors.subList(0, anchors.size() - 1).stream()
+                .map(a -> CodeBlock.of("$T.class", anchorBlade(a))).toList();
+        CodeBlock find = ids.size() == 2
+                ? CodeBlock.of("registry.findInParent($L, $L, $L, $T.class)", ancestors.get(0), ids.get(0), ids.get(1), targetBlade)
+                : CodeBlock.of("registry.findPath($T.class, new Class<?>[] {$L}, $L)", targetBlade,
+                        CodeBlock.join(ancestors, ", "), String.join(", ", ids));
+
+        MethodSpec.Builder mb = MethodSpec.overriding(m);
+        meter(mb, ctx, "searched()");
+        if (TypeName.get(BindingUtils.resultType(m)).toString().contains("java.util.Optional")) {
+            mb.addStatement("return $L", find);
+        } else {
+            mb.addStatement("return $L.orElse(null)", find);
+        }
+        emit(builder, m, mb);
+    }
+
+    /** Single construction path for a blade: build the subcomponent from its seed and register it. */
+    private void ensureAssemble(TypeSpec.Builder b, TypeName blade, TypeElement seed, RepoContext ctx) {
+        if (b.methodSpecs.stream().anyMatch(ms -> ms.name.equals("assemble"))) return;
+        ensureConstruct(b, blade, seed, ctx);
+        b.addMethod(MethodSpec.methodBuilder("assemble")
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(TypeName.get(seed.asType()), "seed")
+                .returns(blade)
+                .addStatement("var blade = construct(seed)")
+                // The registry holds the parent/child tree (paths, findInParent, subtree teardown); the index
+                // answers deep searches and type scans for this anchor alone without touching the shared shards
+                .addCode(ctx.ephemeral()
+                        ? CodeBlock.of("")
+                        : CodeBlock.of("registry.register($L, blade, $L, $T.class);\n$N.register($L, blade);\n",
+                                seedIdRef("seed", seed), ctx.parentRef(), blade, ensureIndex(b, ctx, blade, seed), seedIdRef("seed", seed)))
+                .addStatement("return blade")
+                .build());
+    }
+
+    /** Builds the blade's subcomponent from its seed, timing the construction when metrics are on. */
+    private void ensureConstruct(TypeSpec.Builder b, TypeName blade, TypeElement seed, RepoContext ctx) {
+        if (b.methodSpecs.stream().anyMatch(ms -> ms.name.equals("construct"))) return;
+        MethodSpec.Builder construct = MethodSpec.methodBuilder("construct")
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(TypeName.get(seed.asType()), "seed")
+                .returns(blade);
+        construct.addStatement("$T created = new $T()", ctx.events().nestedClass("Created"), ctx.events().nestedClass("Created"))
+                .addStatement("created.begin()");
+        if (ctx.metered()) construct.addStatement("long start = $T.nanoTime()", System.class);
+        construct.addStatement("$T blade = builderProvider.get().seed(seed).build()", blade);
+        meter(construct, ctx, "created(start)");
+        construct.addStatement("created.finish($S, $L)", ctx.bladeBase(), seedIdRef("seed", seed))
+                .addStatement("return blade");
+        b.addMethod(construct.build());
+    }
+
+    /** Reads one blade from the local cache into {@code var}, recording the hit or miss. */
+    private void localLookup(MethodSpec.Builder mb, RepoContext ctx, TypeName blade, String var, String idRef) {
+        ClassName lookup = ctx.events().nestedClass("Lookup");
+        mb.addStatement("$T lookup = new $T()", lookup, lookup)
+          .addStatement("lookup.begin()")
+          .addStatement("$T $N = ($T) $L.get($L)", blade, var, blade, ctx.cacheName(), idRef);
+        meter(mb, ctx, "lookup(" + var + " != null)");
+        mb.addStatement("lookup.finish($S, $L, $N != null)", ctx.bladeBase(), idRef, var);
+    }
+
+    /** Emits a BladeMetrics update; a no-op when metrics are compiled out. */
+    private static void meter(MethodSpec.Builder mb, RepoContext ctx, String update) {
+        if (ctx.metered()) mb.addStatement("METRICS.$L", update);
+    }
+
+    /** In-flight creates and loads keyed by ID; blades are built outside the cache's locks. */
+    private String ensurePendingField(TypeSpec.Builder b, RepoContext ctx) {
+        String name = ctx.bladeBase().toLowerCase() + "Pending";
+        if (b.fieldSpecs.stream().noneMatch(f -> f.name.equals(name))) {
+            TypeName futureType = ParameterizedTypeName.get(ClassName.get("java.util.concurrent", "CompletableFuture"), TypeName.OBJECT);
+            TypeName mapType = ParameterizedTypeName.get(ClassName.get("java.util.concurrent", "ConcurrentMap"), TypeName.OBJECT, futureType);
+            b.addField(FieldSpec.builder(mapType, name, Modifier.PRIVATE, Modifier.FINAL)
+                    .initializer("new $T<>()", ClassName.get("java.util.concurrent", "ConcurrentHashMap"))
+                    .build());
+        }
+        return name;
+    }
+
+    private static String seedIdRef(String seedVar, TypeElement seed) {
+        String accessor = BindingUtils.resolveIdAccessor(seed);
+        return accessor.isEmpty() ? seedVar : seedVar + "." + accessor;
+    }
+
+    private void ensureCacheField(TypeSpec.Builder b, TypeName valType, TypeName idType, RepoContext ctx) {
+        String name = ctx.cacheName();
         if (b.fieldSpecs.stream().anyMatch(f -> f.name.equals(name))) return;
-        
-        TypeName mapType = ParameterizedTypeName.get(
-                concurrent ? ClassName.get("java.util.concurrent", "ConcurrentMap") : ClassName.get("java.util", "Map"), 
-                idType, TypeName.get(valType));
-        
-        b.addField(FieldSpec.builder(mapType, name, Modifier.PRIVATE, Modifier.FINAL)
-                .initializer("new $T<>()", 
-                concurrent ? ClassName.get("java.util.concurrent", "ConcurrentHashMap") : ClassName.get("java.util", "HashMap")).build());
+
+        // Size/expiry limits swap the plain map for the thread-safe eviction cache. An eviction only drops the
+        // cache entry (callers may still hold the blade, which the registry keeps weakly) unless closeOnEviction
+        Repository limits = ctx.limits();
+        if (limits != null && (limits.maximumSize() > 0 || limits.expireAfterAccess() > 0 || limits.expireAfterWrite() > 0)) {
+            TypeName cacheType = ParameterizedTypeName.get(ClassName.get("java.util.concurrent", "ConcurrentMap"), idType.box(), valType);
+            CodeBlock onEviction = limits.closeOnEviction() ? CodeBlock.of("this::teardown")
+                    : ctx.metered() ? CodeBlock.of("(id, blade) -> METRICS.released()") : CodeBlock.of("null");
+            b.addField(FieldSpec.builder(cacheType, name, Modifier.PRIVATE, Modifier.FINAL)
+                    .initializer("new $T<>($LL, $LL, $LL, $L)",
+                            ctx.repoOps().peerClass("BladeCache"),
+                            Math.max(0, limits.maximumSize()),
+                            limits.timeUnit().toNanos(Math.max(0, limits.expireAfterAccess())),
+                            limits.timeUnit().toNanos(Math.max(0, limits.expireAfterWrite())),
+                            onEviction)
+                    .build());
+            return;
+        }
+        ClassName concurrentMap = ClassName.get("java.util.concurrent", "ConcurrentMap");
+        ClassName map = ClassName.get("java.util", "Map");
+        CodeBlock init = switch (ctx.mode()) {
+            case CONFINED -> CodeBlock.of("new $T<>()", ctx.repoOps().peerClass("ConfinedMap"));
+            case SYNCHRONIZED -> CodeBlock.of("new $T<>()", ClassName.get("java.util", "HashMap"));
+            case CONCURRENT -> CodeBlock.of("new $T<>()", ClassName.get("java.util.concurrent", "ConcurrentHashMap"));
+            case READ_MOSTLY -> CodeBlock.of("new $T<>()", ctx.repoOps().peerClass("CopyOnWriteMap"));
+            case STRIPED -> CodeBlock.of("new $T<>($L)", ctx.repoOps().peerClass("StripedMap"), ctx.concurrency().stripes());
+        };
+        boolean plainMap = ctx.mode() == Concurrent.Mode.CONFINED || ctx.mode() == Concurrent.Mode.SYNCHRONIZED;
+        TypeName mapType = ParameterizedTypeName.get(plainMap ? map : concurrentMap, idType.box(), valType);
+
+        b.addField(FieldSpec.builder(mapType, name, Modifier.PRIVATE, Modifier.FINAL).initializer(init).build());
+    }
+
+    /**
+     * Every _Repo is AutoCloseable: closing it tears down all cached blades. Child repos are contributed
+     * to their anchor's teardown set, so removing a blade cascades through its whole subtree.
+     */
+    private void addTeardown(TypeSpec.Builder builder, RepoContext ctx) {
+        builder.addSuperinterface(AutoCloseable.class);
+        MethodSpec.Builder close = MethodSpec.methodBuilder("close")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC);
+
+        boolean cached = builder.fieldSpecs.stream().anyMatch(f -> f.name.equals(ctx.cacheName()));
+        if (cached) {
+            TypeElement seed = model.anchorMap().get(BindingUtils.parseAnchorFromBladeName(ctx.blade()).toLowerCase());
+            CodeBlock unregister = ctx.ephemeral() ? CodeBlock.of("") : CodeBlock.of(
+                    "registry.unregister(id, blade, $T.class);\n$N.unregister(($T) id, blade);\n",
+                    ctx.blade(), ensureIndex(builder, ctx, ctx.blade(), seed), TypeName.get(BindingUtils.resolveIdType(seed)).box());
+            builder.addMethod(MethodSpec.methodBuilder("teardown")
+                    .addModifiers(Modifier.PRIVATE)
+                    .addParameter(Object.class, "id")
+                    .addParameter(ctx.blade(), "blade")
+                    .addStatement("$T removed = new $T()", ctx.events().nestedClass("Removed"), ctx.events().nestedClass("Removed"))
+                    .addStatement("removed.begin()")
+                    .addCode(unregister)
+                    .addCode(ctx.metered() ? CodeBlock.of("METRICS.released();\n") : CodeBlock.of(""))
+                    .addStatement("$T.closeAll((($T) blade).autoCloseables())", ctx.repoOps(), ctx.autoBlade())
+                    .addStatement("removed.finish($S, id)", ctx.bladeBase())
+                    .build());
+            close.addStatement("$T.<$T>removeAll(($T)$L, this::teardown)", ctx.repoOps(), ctx.blade(), Map.class, ctx.cacheName());
+        }
+        builder.addMethod(close.build());
+    }
+
+    /**
+     * Injects the typed deep-search index of the blade's anchor (e.g. {@code PlayerIndex}) into this _Repo,
+     * requesting its generation for the round.
+     * @return the field holding the index
+     */
+    private String ensureIndex(TypeSpec.Builder b, RepoContext ctx, TypeName blade, TypeElement seed) {
+        String anchor = NamingUtils.toPascalCase(seed.getAnnotation(Seed.class).value());
+        ClassName indexType = ClassName.get(ClassName.get(seed).packageName(), anchor + "Index");
+        String name = Character.toLowerCase(anchor.charAt(0)) + anchor.substring(1) + "Index";
+        indexes.computeIfAbsent(indexType, k -> new IndexSpec(seed, blade, templates.require("BladeIndex", ctx.repo()), new ArrayList<>()))
+                .origins().add(ctx.repo());
+        if (b.fieldSpecs.stream().noneMatch(f -> f.name.equals(name))) {
+            b.addField(indexType, name, Modifier.PRIVATE, Modifier.FINAL);
+            ctx.ctor().addParameter(indexType, name)
+                    .addStatement("this.$N = $N", name, name);
+        }
+        return name;
+    }
+
+    /** One {@code <Anchor>Index extends BladeIndex<Id, Blade>} singleton per anchor searched or registered this round. */
+    private void generateIndexes() {
+        for (Map.Entry<ClassName, IndexSpec> entry : indexes.entrySet()) {
+            if (!generatedIndexes.add(entry.getKey())) continue;
+            IndexSpec spec = entry.getValue();
+            TypeName idType = TypeName.get(BindingUtils.resolveIdType(spec.seed())).box();
+            TypeSpec.Builder index = TypeSpec.classBuilder(entry.getKey())
+                    .addJavadoc("Deep-search index of {@link $T} blades by $T.\n", spec.blade(), idType)
+                    .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                    .addAnnotation(ClassName.get("javax.inject", "Singleton"))
+                    .superclass(ParameterizedTypeName.get(spec.base(), idType, spec.blade()))
+                    .addMethod(MethodSpec.constructorBuilder()
+                            .addAnnotation(Inject.class)
+                            .addModifiers(Modifier.PUBLIC)
+                            .addStatement("super($T.class)", spec.blade())
+                            .build())
+                    .addOriginatingElement(spec.seed());
+            spec.origins().stream().distinct().forEach(index::addOriginatingElement);
+            sources.add(entry.getKey().packageName(), index.build());
+        }
+        indexes.clear();
+    }
+
+    private record IndexSpec(TypeElement seed, TypeName blade, ClassName base, List<TypeElement> origins) {}
+
+    /** Per-repository generation context shared by every method of one _Repo. */
+    private record RepoContext(TypeElement repo, String bladeBase, TypeName blade, ClassName autoBlade, Concurrent concurrency,
+                               ClassName repoOps, CodeBlock parentRef, Repository limits, ExecutableElement loader,
+                               boolean metered, ClassName events, MethodSpec.Builder ctor) {
+        String cacheName() { return bladeBase.toLowerCase() + "Cache"; }
+        boolean ephemeral() { return limits != null && limits.ephemeral(); }
+        Concurrent.Mode mode() { return concurrency == null ? Concurrent.Mode.SYNCHRONIZED : concurrency.value(); }
     }
 
     private void writeFile(Element origin, String pkg, TypeSpec spec) {
-        try {
-            JavaFile.builder(pkg, spec)
-                    .skipJavaLangImports(true)
-                    .build()
-                    .writeTo(processingEnv.getFiler());
-        } catch (IOException ignored) {}
+        sources.add(pkg, spec);
     }
 
-    private void generateBladeRegistry(String targetPkg, Element origin) { copyTemplate(targetPkg, "BladeRegistry", origin); }
-    private void generateRepoOps(String targetPkg, Element origin) { copyTemplate(targetPkg, "RepoOps", origin); }
+    /** The @Blade contract of an anchor: the type its blades are registered under, and so their parent-link key */
+    private TypeName anchorBlade(String anchor) {
+        TypeElement contract = model.contractFor(anchor);
+        if (contract == null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "No @Blade found for anchor '" + anchor + "'.");
+            return ClassName.OBJECT;
+        }
+        return ClassName.get(contract);
+    }
 
-    private void copyTemplate(String targetPkg, String fileName, Element origin) {
+    private int resolveShardCount() {
+        String raw = processingEnv.getOptions().get(OPTION_REGISTRY_SHARDS);
+        if (raw == null || raw.isBlank()) return DEFAULT_REGISTRY_SHARDS;
         try {
-            var is = getClass().getResourceAsStream("/" + fileName + ".txt");
-            if (is == null) return;
-            String rawContent = new String(is.readAllBytes(), StandardCharsets.UTF_8);
-            
-            // Clean package declaration from template and apply targetPkg
-            String cleanContent = rawContent.replaceFirst("(?m)^package .*;\\s*", "");
-            String finalContent = "package " + targetPkg + ";\n\n" + cleanContent;
-            
-            var file = processingEnv.getFiler().createSourceFile(targetPkg + "." + fileName, origin);
-            try (var writer = file.openWriter()) {
-                writer.write(finalContent);
-            }
-        } catch (IOException ignored) {}
+            int requested = Integer.parseInt(raw.trim());
+            if (requested < 1) throw new NumberFormatException();
+            int clamped = Math.min(requested, MAX_REGISTRY_SHARDS);
+            // Shard selection uses hash bits, so the count must be a power of two
+            return Integer.bitCount(clamped) == 1 ? clamped : Integer.highestOneBit(clamped) << 1;
+        } catch (NumberFormatException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "AutoBlade: Ignoring invalid " + OPTION_REGISTRY_SHARDS + "=" + raw + ", using " + DEFAULT_REGISTRY_SHARDS);
+            return DEFAULT_REGISTRY_SHARDS;
+        }
     }
 }
@@ -1,30 +1,49 @@
 package org.tpunn.autoblade.processors;
 
 import com.squareup.javapoet.*;
-import org.tpunn.autoblade.annotations.Strategy;
-import org.tpunn.autoblade.utilities.BindingUtils;
 import org.tpunn.autoblade.utilities.InterfaceSelector;
+import org.tpunn.autoblade.utilities.RoundModel;
+import org.tpunn.autoblade.utilities.RuntimeTemplates;
+import org.tpunn.autoblade.utilities.SourceWriter;
 
 import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.*;
 import javax.lang.model.type.TypeMirror;
-import java.io.IOException;
 import java.util.*;
 
 @SupportedSourceVersion(SourceVersion.RELEASE_17)
 @SupportedAnnotationTypes("org.tpunn.autoblade.annotations.Strategy")
 public class StrategyProcessor extends AbstractProcessor {
 
+    private static final ClassName PROVIDER = ClassName.get("javax.inject", "Provider");
+    private static final ClassName ATOMIC_ARRAY = ClassName.get("java.util.concurrent.atomic", "AtomicReferenceArray");
+    private static final ClassName LIST = ClassName.get("java.util", "List");
+    private static final ClassName ARRAY_LIST = ClassName.get("java.util", "ArrayList");
+
     private final Set<String> processed = new HashSet<>();
+    private RuntimeTemplates templates;
+    private RoundModel model;
+    private SourceWriter sources;
+
+    public void setModel(RoundModel model) {
+        this.model = model;
+    }
+
+    public void setSources(SourceWriter sources) {
+        this.sources = sources;
+    }
+
+    public void setTemplates(RuntimeTemplates templates) {
+        this.templates = templates;
+    }
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         if (roundEnv.processingOver()) return false;
 
-        for (Element element : roundEnv.getElementsAnnotatedWith(Strategy.class)) {
-            if (!(element instanceof TypeElement strategyAnno)) continue;
-
+        for (Map.Entry<TypeElement, List<TypeElement>> entry : model.strategies().entrySet()) {
+            TypeElement strategyAnno = entry.getKey();
             String annoName = strategyAnno.getSimpleName().toString();
             if (processed.contains(annoName)) continue;
 
@@ -40,64 +59,265 @@ public class StrategyProcessor extends AbstractProcessor {
             TypeName enumType = TypeName.get(valueMethod.getReturnType());
             
             // 1. Generate @[Name]Key as a peer to the annotation
-            generateMapKey(strategyCn, annoName + "Key", enumType);
+            generateMapKey(strategyAnno, strategyCn, annoName + "Key", enumType);
 
             // 2. Generate [Name]Resolver as a peer to the annotation
-            roundEnv.getElementsAnnotatedWith(strategyAnno).stream()
-                    .filter(e -> e instanceof TypeElement)
-                    .map(e -> (TypeElement) e)
-                    .findFirst()
-                    .ifPresent(te -> {
-                        TypeMirror ifaceMirror = InterfaceSelector.selectBestInterface(te, processingEnv);
-                        if (ifaceMirror != null) {
-                            generateResolver(te, strategyCn, annoName + "Resolver", enumType, ifaceMirror);
-                        }
-                    });
+            List<TypeElement> impls = entry.getValue();
+            if (!impls.isEmpty()) {
+                TypeElement te = impls.get(0);
+                TypeMirror ifaceMirror = model.bestInterface(te, processingEnv);
+                if (ifaceMirror != null) {
+                    generateResolver(te, strategyAnno, impls, strategyCn, annoName + "Resolver", enumType, ifaceMirror);
+                }
+            }
 
             processed.add(annoName);
         }
         return true;
     }
 
-    private void generateResolver(TypeElement te, ClassName strategyCn, String className, TypeName enumType, TypeMirror ifaceMirror) {
+    private void generateResolver(TypeElement te, TypeElement strategyAnno, List<TypeElement> impls, ClassName strategyCn,
+                                  String className, TypeName enumType, TypeMirror ifaceMirror) {
         String pkg = strategyCn.packageName();
         TypeName interfaceType = TypeName.get(ifaceMirror);
         
         // Resolve Builder/Factory interfaces relative to the service element
-        if (BindingUtils.hasMirror(te, "org.tpunn.autoblade.annotations.AutoBuilder")) {
+        if (model.has(te, "org.tpunn.autoblade.annotations.AutoBuilder")) {
             interfaceType = InterfaceSelector.selectBuilderInterface(pkg, ifaceMirror, te, processingEnv);
-        } else if (BindingUtils.hasMirror(te, "org.tpunn.autoblade.annotations.AutoFactory")) {
+        } else if (model.has(te, "org.tpunn.autoblade.annotations.AutoFactory")) {
             interfaceType = InterfaceSelector.selectFactoryInterface(pkg, ifaceMirror, te, processingEnv);
         }
 
         TypeName providerType = ParameterizedTypeName.get(ClassName.get("javax.inject", "Provider"), interfaceType);
         TypeName mapType = ParameterizedTypeName.get(ClassName.get("java.util", "Map"), enumType, providerType);
 
-        TypeSpec resolver = TypeSpec.classBuilder(className)
-                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-                .addField(mapType, "strategies", Modifier.PRIVATE, Modifier.FINAL)
+        MethodSpec.Builder resolve = MethodSpec.methodBuilder("resolve")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(enumType, "kind")
+                .returns(interfaceType);
+
+        TypeSpec.Builder resolver = TypeSpec.classBuilder(className)
+                .addOriginatingElement(strategyAnno)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL);
+        impls.forEach(resolver::addOriginatingElement);
+
+        // Flight Recorder event, timed from entry and committed (while enabled) once the key has a slot
+        CodeBlock eventBegin = CodeBlock.of("");
+        CodeBlock eventCommit = CodeBlock.of("");
+        if (templates != null) {
+            ClassName event = templates.require("BladeEvents", te).nestedClass("StrategyResolved");
+            eventBegin = CodeBlock.builder()
+                    .addStatement("$T event = new $T()", event, event)
+                    .addStatement("event.begin()")
+                    .build();
+            eventCommit = CodeBlock.builder().addStatement("event.finish($S, kind)", strategyCn.simpleName()).build();
+        }
+
+        // Resolve counts feed BladeMetrics unless metrics are compiled out
+        if (templates != null && templates.metricsEnabled()) {
+            ClassName metrics = templates.require("BladeMetrics", te);
+            resolver.addField(FieldSpec.builder(ClassName.get("java.util.concurrent.atomic", "LongAdder"), "RESOLVES",
+                            Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("$T.strategy($S)", metrics, strategyCn.simpleName())
+                    .build());
+            resolve.addStatement("RESOLVES.increment()");
+        }
+
+        // Scoped instances and stateless factories are the same object on every get(); memoize those kinds
+        Set<String> memoizedKeys = memoizedKeys(strategyAnno, impls);
+        if (enumType.equals(ClassName.get(String.class))) {
+            addStringDispatch(resolver, resolve, strategyAnno, impls, strategyCn, interfaceType, providerType, mapType,
+                    eventBegin, eventCommit, memoizedKeys);
+        } else {
+            addEnumDispatch(resolver, resolve, enumType, interfaceType, providerType, mapType,
+                    eventBegin, eventCommit, memoizedKeys);
+        }
+
+        writeFile(pkg, resolver.build());
+    }
+
+    private void addEnumDispatch(TypeSpec.Builder resolver, MethodSpec.Builder resolve, TypeName enumType,
+                                 TypeName interfaceType, TypeName providerType, TypeName mapType,
+                                 CodeBlock eventBegin, CodeBlock eventCommit, Set<String> memoizedKinds) {
+        boolean memoize = !memoizedKinds.isEmpty();
+        if (memoize) {
+            // Indexed by ordinal like the provider table; the constants are known here, so it is one shared table
+            resolver.addField(FieldSpec.builder(boolean[].class, "MEMOIZED", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("new boolean[$T.values().length]", enumType)
+                    .build());
+            CodeBlock.Builder flags = CodeBlock.builder();
+            memoizedKinds.forEach(kind -> flags.addStatement("MEMOIZED[$T.$L.ordinal()] = true", enumType, kind));
+            resolver.addStaticBlock(flags.build());
+            resolver.addField(ParameterizedTypeName.get(ATOMIC_ARRAY, interfaceType), "instances", Modifier.PRIVATE, Modifier.FINAL);
+        }
+
+        // Dagger's multibinding map is copied once into an ordinal-indexed table, so a dispatch is one array load
+        CodeBlock.Builder fill = CodeBlock.builder();
+        if (memoize) {
+            fill.addStatement("this.instances = new $T<>(kinds.length)", ATOMIC_ARRAY);
+        }
+        resolver.addField(ArrayTypeName.of(providerType), "strategies", Modifier.PRIVATE, Modifier.FINAL)
                 .addMethod(MethodSpec.constructorBuilder()
                         .addAnnotation(ClassName.get("javax.inject", "Inject"))
+                        .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build())
+                        .addModifiers(Modifier.PUBLIC)
                         .addParameter(mapType, "strategies")
-                        .addStatement("this.strategies = strategies")
+                        .addStatement("$T[] kinds = $T.values()", enumType, enumType)
+                        .addStatement("this.strategies = new $T[kinds.length]", PROVIDER)
+                        .addCode(fill.build())
+                        // The Validator has already checked that every constant has an implementation
+                        .beginControlFlow("for ($T kind : kinds)", enumType)
+                        .addStatement("this.strategies[kind.ordinal()] = strategies.get(kind)")
+                        .endControlFlow()
                         .build())
-                .addMethod(MethodSpec.methodBuilder("resolve")
+                .addMethod(resolve
+                        .addCode(eventBegin)
+                        .addStatement("int slot = kind.ordinal()")
+                        .addCode(eventCommit)
+                        .addCode(memoize
+                                ? memoizedDispatch(interfaceType, "MEMOIZED[slot]")
+                                : CodeBlock.builder().addStatement("return strategies[slot].get()").build())
+                        .build());
+    }
+
+    /**
+     * String keys are known at compile time, so they get fixed slots and a {@code switch} over the
+     * key; javac compiles it to a lookup on the cached String hash plus one equals, allocating nothing.
+     */
+    private void addStringDispatch(TypeSpec.Builder resolver, MethodSpec.Builder resolve, TypeElement strategyAnno,
+                                   List<TypeElement> impls, ClassName strategyCn, TypeName interfaceType,
+                                   TypeName providerType, TypeName mapType, CodeBlock eventBegin, CodeBlock eventCommit,
+                                   Set<String> memoizedKeys) {
+        List<String> keys = new ArrayList<>(new TreeSet<>(keys(strategyAnno, impls)));
+        boolean memoize = !memoizedKeys.isEmpty();
+
+        resolver.addField(FieldSpec.builder(String[].class, "KEYS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("{$L}", keys.stream().map(k -> CodeBlock.of("$S", k)).collect(CodeBlock.joining(", ")))
+                .build());
+        if (memoize) {
+            resolver.addField(FieldSpec.builder(boolean[].class, "MEMOIZED", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("{$L}", keys.stream().map(k -> CodeBlock.of("$L", memoizedKeys.contains(k))).collect(CodeBlock.joining(", ")))
+                    .build());
+            resolver.addField(ParameterizedTypeName.get(ATOMIC_ARRAY, interfaceType), "instances", Modifier.PRIVATE, Modifier.FINAL);
+        }
+
+        MethodSpec.Builder slotOf = MethodSpec.methodBuilder("slotOf")
+                .addJavadoc("Slot of a wire key, or -1 when no strategy declares it\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(String.class, "key")
+                .returns(int.class)
+                .addStatement("if (key == null) return -1")
+                .beginControlFlow("switch (key)");
+        for (int slot = 0; slot < keys.size(); slot++) {
+            slotOf.addStatement("case $S: return $L", keys.get(slot), slot);
+        }
+        slotOf.addStatement("default: return -1").endControlFlow();
+
+        resolver.addField(ArrayTypeName.of(providerType), "strategies", Modifier.PRIVATE, Modifier.FINAL)
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addAnnotation(ClassName.get("javax.inject", "Inject"))
+                        .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build())
                         .addModifiers(Modifier.PUBLIC)
-                        .addParameter(enumType, "kind")
-                        .returns(interfaceType)
-                        .addStatement("$T provider = strategies.get(kind)", providerType)
-                        .beginControlFlow("if (provider == null)")
+                        .addParameter(mapType, "strategies")
+                        .addStatement("this.strategies = new $T[KEYS.length]", PROVIDER)
+                        .addCode(memoize ? CodeBlock.builder().addStatement("this.instances = new $T<>(KEYS.length)", ATOMIC_ARRAY).build() : CodeBlock.of(""))
+                        .addStatement("$T<$T> missing = new $T<>()", LIST, String.class, ARRAY_LIST)
+                        .beginControlFlow("for (int slot = 0; slot < KEYS.length; slot++)")
+                        .addStatement("$T provider = strategies.get(KEYS[slot])", providerType)
+                        .addStatement("if (provider == null) missing.add(KEYS[slot])")
+                        .addStatement("this.strategies[slot] = provider")
+                        .endControlFlow()
+                        .addCode(failOnMissing(strategyCn))
+                        .build())
+                .addMethod(slotOf.build())
+                .addMethod(resolve
+                        .addCode(eventBegin)
+                        .addStatement("int slot = slotOf(kind)")
+                        .beginControlFlow("if (slot < 0)")
                         .addStatement("throw new $T(\"No strategy registered for: \" + kind)", IllegalArgumentException.class)
                         .endControlFlow()
-                        .addStatement("return provider.get()")
+                        .addCode(eventCommit)
+                        .addCode(memoize
+                                ? memoizedDispatch(interfaceType, "MEMOIZED[slot]")
+                                : CodeBlock.builder().addStatement("return strategies[slot].get()").build())
                         .build())
+                .addMethod(MethodSpec.methodBuilder("resolveOrNull")
+                        .addJavadoc("Like {@code resolve}, but returns null for an unknown key instead of throwing\n")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(String.class, "kind")
+                        .returns(interfaceType)
+                        .addStatement("return slotOf(kind) < 0 ? null : resolve(kind)")
+                        .build());
+    }
+
+    private CodeBlock failOnMissing(ClassName strategyCn) {
+        return CodeBlock.builder()
+                .beginControlFlow("if (!missing.isEmpty())")
+                .addStatement("throw new $T($S + missing)", IllegalStateException.class,
+                        "No " + strategyCn.simpleName() + " registered for: ")
+                .endControlFlow()
+                .build();
+    }
+
+    /**
+     * Per-kind instances are published through an AtomicReferenceArray; a racing resolve may call get()
+     * twice, but only the first instance stored is ever returned.
+     */
+    private CodeBlock memoizedDispatch(TypeName interfaceType, String memoizedFlag) {
+        return CodeBlock.builder()
+                .addStatement("if (!$L) return strategies[slot].get()", memoizedFlag)
+                .addStatement("$T instance = instances.get(slot)", interfaceType)
+                .beginControlFlow("if (instance == null)")
+                .addStatement("$T created = strategies[slot].get()", interfaceType)
+                .addStatement("instance = instances.compareAndExchange(slot, null, created)")
+                .addStatement("if (instance == null) instance = created")
+                .endControlFlow()
+                .addStatement("return instance")
                 .build();
+    }
+
+    /**
+     * Keys whose strategy may be cached: scoped and singleton bindings, and @AutoFactory factories
+     * (stateless). @Transient, unscoped and @AutoBuilder (stateful) strategies are not.
+     */
+    private Set<String> memoizedKeys(TypeElement strategyAnno, List<TypeElement> impls) {
+        Set<String> keys = new TreeSet<>();
+        for (TypeElement impl : impls) {
+            boolean builder = model.has(impl, "org.tpunn.autoblade.annotations.AutoBuilder");
+            boolean cacheable = !builder && (model.has(impl, "org.tpunn.autoblade.annotations.AutoFactory")
+                    || model.has(impl, "org.tpunn.autoblade.annotations.Scoped")
+                    || model.has(impl, "javax.inject.Singleton"));
+            String key = keyOf(strategyAnno, impl);
+            if (cacheable && key != null) keys.add(key);
+        }
+        return keys;
+    }
+
+    private List<String> keys(TypeElement strategyAnno, List<TypeElement> impls) {
+        List<String> keys = new ArrayList<>();
+        for (TypeElement impl : impls) {
+            String key = keyOf(strategyAnno, impl);
+            if (key != null) keys.add(key);
+        }
+        return keys;
+    }
 
-        writeFile(pkg, resolver);
+    /** The implementation's key: the enum constant's name, or the String itself */
+    private static String keyOf(TypeElement strategyAnno, TypeElement impl) {
+        return impl.getAnnotationMirrors().stream()
+                .filter(m -> m.getAnnotationType().asElement().equals(strategyAnno))
+                .flatMap(m -> m.getElementValues().values().stream())
+                .map(AnnotationValue::getValue)
+                .map(v -> v instanceof VariableElement constant ? constant.getSimpleName().toString()
+                        : v instanceof String str ? str : null)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
     }
 
-    private void generateMapKey(ClassName strategyCn, String keyName, TypeName enumType) {
+    private void generateMapKey(TypeElement strategyAnno, ClassName strategyCn, String keyName, TypeName enumType) {
         TypeSpec keySpec = TypeSpec.annotationBuilder(keyName)
+                .addOriginatingElement(strategyAnno)
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(ClassName.get("dagger", "MapKey"))
                 .addAnnotation(AnnotationSpec.builder(ClassName.get("java.lang.annotation", "Retention"))
@@ -113,11 +333,6 @@ public class StrategyProcessor extends AbstractProcessor {
     }
 
     private void writeFile(String pkg, TypeSpec typeSpec) {
-        try {
-            JavaFile.builder(pkg, typeSpec)
-                    .skipJavaLangImports(true)
-                    .build()
-                    .writeTo(processingEnv.getFiler());
-        } catch (IOException ignored) {}
+        sources.add(pkg, typeSpec);
     }
 }
@@ -0,0 +1,505 @@
+package org.tpunn.autoblade.registry;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Bounded, frequency-aware blade cache for repositories that declare size or expiry limits.
+ * New blades enter a small LRU window; a segmented LRU main space only admits a window candidate
+ * over its victim when the candidate has been requested more often (W-TinyLFU).
+ * Reads are lock-free and record their access opportunistically; writes and evictions share one lock,
+ * and eviction callbacks run after it is released.
+ */
+public final class BladeCache<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final long maximumSize;
+    private final long expireAfterAccessNanos;
+    private final long expireAfterWriteNanos;
+    private final BiConsumer<K, V> onEviction;
+
+    private final ConcurrentMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Links<K, V> window = new Links<>();
+    private final Links<K, V> probation = new Links<>();
+    private final Links<K, V> protectedSpace = new Links<>();
+    private final Links<K, V> writeOrder = new Links<>();
+    private final FrequencySketch sketch;
+    private final long windowMax;
+    private final long protectedMax;
+    private long windowSize;
+    private long protectedSize;
+
+    /**
+     * @param maximumSize blades kept before eviction, 0 for no size bound
+     * @param expireAfterAccessNanos idle time before a blade expires, 0 to disable
+     * @param expireAfterWriteNanos lifetime of a blade since creation, 0 to disable
+     * @param onEviction notified for every blade dropped by size or expiry (not for explicit removals,
+     *                   nor for blades of a {@link #putAllIfAbsent} batch dropped by that same batch), or null
+     */
+    public BladeCache(long maximumSize, long expireAfterAccessNanos, long expireAfterWriteNanos, BiConsumer<K, V> onEviction) {
+        this.maximumSize = maximumSize;
+        this.expireAfterAccessNanos = expireAfterAccessNanos;
+        this.expireAfterWriteNanos = expireAfterWriteNanos;
+        this.onEviction = onEviction;
+        this.sketch = new FrequencySketch(maximumSize > 0 ? maximumSize : 1024);
+        this.windowMax = maximumSize > 0 ? Math.max(1, maximumSize / 100) : Long.MAX_VALUE;
+        this.protectedMax = Math.max(0, (maximumSize - windowMax) * 4 / 5);
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) return null;
+        long now = System.nanoTime();
+        if (isExpired(node, now)) {
+            expireNow(node);
+            return null;
+        }
+        node.accessTime = now;
+        // Policy bookkeeping is lossy under contention, like a dropped read buffer
+        if (lock.tryLock()) {
+            try {
+                if (node.alive) onAccess(node);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return write(key, value, false);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return write(key, value, true);
+    }
+
+    @Override
+    public V remove(Object key) {
+        lock.lock();
+        try {
+            Node<K, V> node = data.get(key);
+            if (node == null) return null;
+            unlink(node);
+            return node.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        lock.lock();
+        try {
+            Node<K, V> node = data.get(key);
+            if (node == null || !Objects.equals(node.value, value)) return false;
+            unlink(node);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        lock.lock();
+        try {
+            Node<K, V> node = data.get(key);
+            if (node == null) return null;
+            V old = node.value;
+            node.value = value;
+            return old;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        lock.lock();
+        try {
+            Node<K, V> node = data.get(key);
+            if (node == null || !Objects.equals(node.value, oldValue)) return false;
+            node.value = newValue;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            for (Node<K, V> node : new ArrayList<>(data.values())) unlink(node);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * Walks every segment and evicts each expired blade, including those behind a live head.
+     * @return the number of blades expired by this call
+     */
+    public int expungeExpiredEntries() {
+        List<Node<K, V>> evicted = new ArrayList<>();
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            expireEntries(now, evicted);
+            if (expireAfterAccessNanos > 0) {
+                for (Links<K, V> segment : List.of(window, probation, protectedSpace)) {
+                    Node<K, V> node = segment.first();
+                    while (node != null) {
+                        Node<K, V> next = node.next;
+                        if (isExpired(node, now)) {
+                            unlink(node);
+                            evicted.add(node);
+                        }
+                        node = next;
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        notifyEvicted(evicted);
+        return evicted.size();
+    }
+
+    /** Weakly consistent snapshot of the live entries. */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> entries = new LinkedHashSet<>();
+        for (Node<K, V> node : data.values()) {
+            entries.add(new SimpleImmutableEntry<>(node.key, node.value));
+        }
+        return Collections.unmodifiableSet(entries);
+    }
+
+    private V write(K key, V value, boolean onlyIfAbsent) {
+        Objects.requireNonNull(value);
+        List<Node<K, V>> evicted = new ArrayList<>();
+        V previous;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            expireEntries(now, evicted);
+            Node<K, V> node = data.get(key);
+            if (node != null) {
+                previous = node.value;
+                if (!onlyIfAbsent) {
+                    node.value = value;
+                    node.writeTime = now;
+                    if (expireAfterWriteNanos > 0) writeOrder.moveToBack(node, true);
+                }
+                node.accessTime = now;
+                onAccess(node);
+            } else {
+                previous = null;
+                insert(key, value, now);
+                evictEntries(evicted);
+            }
+        } finally {
+            lock.unlock();
+        }
+        notifyEvicted(evicted);
+        return previous;
+    }
+
+    /**
+     * Batch putIfAbsent: the whole batch is inserted before a single eviction pass. Blades of the batch that
+     * the pass drops (a batch larger than the cache, or cold candidates losing admission) are not reported to
+     * the eviction callback, since the caller is still handing them out.
+     * @return per key, the value now associated with it: the one already cached, or the given one
+     */
+    public List<V> putAllIfAbsent(List<? extends K> keys, List<? extends V> values) {
+        if (keys.size() != values.size()) {
+            throw new IllegalArgumentException("Batch has " + keys.size() + " keys for " + values.size() + " values");
+        }
+        List<V> results = new ArrayList<>(keys.size());
+        Set<Node<K, V>> inserted = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Node<K, V>> evicted = new ArrayList<>();
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            expireEntries(now, evicted);
+            for (int i = 0; i < keys.size(); i++) {
+                V value = Objects.requireNonNull(values.get(i));
+                Node<K, V> node = data.get(keys.get(i));
+                if (node != null) {
+                    node.accessTime = now;
+                    onAccess(node);
+                    results.add(node.value);
+                } else {
+                    inserted.add(insert(keys.get(i), value, now));
+                    results.add(value);
+                }
+            }
+            evictEntries(evicted);
+        } finally {
+            lock.unlock();
+        }
+        evicted.removeIf(inserted::contains);
+        notifyEvicted(evicted);
+        return results;
+    }
+
+    private Node<K, V> insert(K key, V value, long now) {
+        Node<K, V> node = new Node<>(key, value, now);
+        data.put(key, node);
+        sketch.increment(key);
+        node.segment = WINDOW;
+        window.addLast(node, false);
+        windowSize++;
+        if (expireAfterWriteNanos > 0) writeOrder.addLast(node, true);
+        return node;
+    }
+
+    private void expireNow(Node<K, V> node) {
+        boolean expired = false;
+        lock.lock();
+        try {
+            if (node.alive && isExpired(node, System.nanoTime())) {
+                unlink(node);
+                expired = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (expired) notifyEvicted(List.of(node));
+    }
+
+    private boolean isExpired(Node<K, V> node, long now) {
+        return (expireAfterAccessNanos > 0 && now - node.accessTime >= expireAfterAccessNanos)
+                || (expireAfterWriteNanos > 0 && now - node.writeTime >= expireAfterWriteNanos);
+    }
+
+    /**
+     * Writes only check queue heads. The write queue is strictly creation ordered, but a read that loses
+     * the policy lock refreshes its access time without reordering its segment, so an idle blade can sit
+     * behind a recently read head. Such a blade is never returned (get() expires it), and it leaves on
+     * its next read, by size eviction, or through {@link #expungeExpiredEntries()}.
+     */
+    private void expireEntries(long now, List<Node<K, V>> evicted) {
+        if (expireAfterWriteNanos > 0) drainExpired(writeOrder, now, evicted);
+        if (expireAfterAccessNanos > 0) {
+            drainExpired(window, now, evicted);
+            drainExpired(probation, now, evicted);
+            drainExpired(protectedSpace, now, evicted);
+        }
+    }
+
+    /** Unlinks expired heads; unlink() detaches each from both its access segment and the write queue. */
+    private void drainExpired(Links<K, V> links, long now, List<Node<K, V>> evicted) {
+        Node<K, V> head;
+        while ((head = links.first()) != null && isExpired(head, now)) {
+            unlink(head);
+            evicted.add(head);
+        }
+    }
+
+    private void evictEntries(List<Node<K, V>> evicted) {
+        if (maximumSize <= 0) return;
+        // Overflowing window blades become candidates for the main space
+        while (windowSize > windowMax) {
+            Node<K, V> candidate = window.first();
+            window.remove(candidate, false);
+            windowSize--;
+            candidate.segment = PROBATION;
+            probation.addLast(candidate, false);
+            if (data.size() > maximumSize) {
+                Node<K, V> victim = probation.first();
+                Node<K, V> loser = (victim != candidate && sketch.frequency(candidate.key) > sketch.frequency(victim.key))
+                        ? victim : candidate;
+                unlink(loser);
+                evicted.add(loser);
+            }
+        }
+        while (data.size() > maximumSize) {
+            Node<K, V> victim = probation.first();
+            if (victim == null) victim = protectedSpace.first();
+            if (victim == null) victim = window.first();
+            unlink(victim);
+            evicted.add(victim);
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        sketch.increment(node.key);
+        switch (node.segment) {
+            case WINDOW -> window.moveToBack(node, false);
+            case PROBATION -> {
+                probation.remove(node, false);
+                node.segment = PROTECTED;
+                protectedSpace.addLast(node, false);
+                protectedSize++;
+                if (protectedSize > protectedMax) {
+                    Node<K, V> demoted = protectedSpace.first();
+                    protectedSpace.remove(demoted, false);
+                    protectedSize--;
+                    demoted.segment = PROBATION;
+                    probation.addLast(demoted, false);
+                }
+            }
+            default -> protectedSpace.moveToBack(node, false);
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (!node.alive) return;
+        node.alive = false;
+        data.remove(node.key, node);
+        switch (node.segment) {
+            case WINDOW -> {
+                window.remove(node, false);
+                windowSize--;
+            }
+            case PROBATION -> probation.remove(node, false);
+            default -> {
+                protectedSpace.remove(node, false);
+                protectedSize--;
+            }
+        }
+        if (expireAfterWriteNanos > 0) writeOrder.remove(node, true);
+    }
+
+    private void notifyEvicted(List<Node<K, V>> evicted) {
+        if (onEviction == null) return;
+        for (Node<K, V> node : evicted) onEviction.accept(node.key, node.value);
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        volatile V value;
+        volatile long accessTime;
+        volatile long writeTime;
+        int segment;
+        boolean alive = true;
+        Node<K, V> prev, next;
+        Node<K, V> prevWrite, nextWrite;
+
+        Node(K key, V value, long now) {
+            this.key = key;
+            this.value = value;
+            this.accessTime = now;
+            this.writeTime = now;
+        }
+    }
+
+    /** Intrusive doubly linked list; a node sits in one access segment and optionally the write queue. */
+    private static final class Links<K, V> {
+        private Node<K, V> head, tail;
+
+        Node<K, V> first() {
+            return head;
+        }
+
+        void addLast(Node<K, V> node, boolean byWrite) {
+            if (byWrite) {
+                node.prevWrite = tail;
+                node.nextWrite = null;
+                if (tail == null) head = node; else tail.nextWrite = node;
+            } else {
+                node.prev = tail;
+                node.next = null;
+                if (tail == null) head = node; else tail.next = node;
+            }
+            tail = node;
+        }
+
+        void remove(Node<K, V> node, boolean byWrite) {
+            Node<K, V> prev = byWrite ? node.prevWrite : node.prev;
+            Node<K, V> next = byWrite ? node.nextWrite : node.next;
+            if (prev == null) head = next; else if (byWrite) prev.nextWrite = next; else prev.next = next;
+            if (next == null) tail = prev; else if (byWrite) next.prevWrite = prev; else next.prev = prev;
+            if (byWrite) node.prevWrite = node.nextWrite = null; else node.prev = node.next = null;
+        }
+
+        void moveToBack(Node<K, V> node, boolean byWrite) {
+            if (tail == node) return;
+            remove(node, byWrite);
+            addLast(node, byWrite);
+        }
+    }
+
+    /** 4-bit Count-Min sketch, halved periodically so old popularity fades. */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private final long[] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(long expected) {
+            int capacity = (int) Math.min(Math.max(expected, 16), 1 << 24);
+            int length = Integer.highestOneBit(capacity - 1) << 1;
+            this.table = new long[length];
+            this.mask = length - 1;
+            this.sampleSize = 10 * length;
+        }
+
+        int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int frequency = 15;
+            for (int i = 0; i < 4; i++) {
+                frequency = Math.min(frequency, (int) ((table[indexOf(hash, i)] >>> shiftOf(hash, i)) & 0xFL));
+            }
+            return frequency;
+        }
+
+        void increment(Object key) {
+            int hash = spread(key.hashCode());
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int shift = shiftOf(hash, i);
+                if (((table[index] >>> shift) & 0xFL) != 0xFL) {
+                    table[index] += 1L << shift;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) reset();
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) table[i] = (table[i] >>> 1) & 0x7777777777777777L;
+            additions /= 2;
+        }
+
+        private int indexOf(int hash, int depth) {
+            long h = (hash + SEEDS[depth]) * SEEDS[depth];
+            h += h >>> 32;
+            return (int) h & mask;
+        }
+
+        private static int shiftOf(int hash, int depth) {
+            return ((hash >>> (depth << 3)) & 0xF) << 2;
+        }
+
+        private static int spread(int x) {
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            return (x >>> 16) ^ x;
+        }
+    }
+}
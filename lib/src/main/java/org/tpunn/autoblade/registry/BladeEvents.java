@@ -0,0 +1,140 @@
+package org.tpunn.autoblade.registry;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder events for blade lifecycle, repository and registry activity.
+ * All are disabled by default; enable them in a JFR settings file, e.g.
+ * {@code <event name="org.tpunn.autoblade.BladeCreated"><setting name="enabled">true</setting></event>}.
+ * While disabled, an event that does not escape is never committed and is optimized away by the JIT.
+ * IDs are recorded as their hash only, so recordings never carry business data.
+ */
+public final class BladeEvents {
+    private BladeEvents() {}
+
+    static int idHash(Object id) {
+        return id == null ? 0 : id.hashCode();
+    }
+
+    @Name("org.tpunn.autoblade.BladeCreated")
+    @Label("Blade Created")
+    @Description("Construction of a blade's subcomponent from its seed")
+    @Category({"AutoBlade", "Lifecycle"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Created extends Event {
+        @Label("Anchor") String anchor;
+        @Label("ID Hash") int idHash;
+
+        public void finish(String anchor, Object id) {
+            if (!shouldCommit()) return;
+            this.anchor = anchor;
+            this.idHash = idHash(id);
+            commit();
+        }
+    }
+
+    @Name("org.tpunn.autoblade.BladeLookup")
+    @Label("Blade Lookup")
+    @Description("Lookup of a blade in its repository's local cache")
+    @Category({"AutoBlade", "Repository"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Lookup extends Event {
+        @Label("Anchor") String anchor;
+        @Label("ID Hash") int idHash;
+        @Label("Hit") boolean hit;
+
+        public void finish(String anchor, Object id, boolean hit) {
+            if (!shouldCommit()) return;
+            this.anchor = anchor;
+            this.idHash = idHash(id);
+            this.hit = hit;
+            commit();
+        }
+    }
+
+    @Name("org.tpunn.autoblade.BladeBulkLookup")
+    @Label("Blade Bulk Lookup")
+    @Description("Batch lookup of blades in its repository's local cache")
+    @Category({"AutoBlade", "Repository"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class BulkLookup extends Event {
+        @Label("Anchor") String anchor;
+        @Label("Requested") int requested;
+        @Label("Found") int found;
+
+        public void finish(String anchor, int requested, int found) {
+            if (!shouldCommit()) return;
+            this.anchor = anchor;
+            this.requested = requested;
+            this.found = found;
+            commit();
+        }
+    }
+
+    @Name("org.tpunn.autoblade.BladeRemoved")
+    @Label("Blade Removed")
+    @Description("Teardown of a blade: registry removal and closing of its scoped resources")
+    @Category({"AutoBlade", "Lifecycle"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Removed extends Event {
+        @Label("Anchor") String anchor;
+        @Label("ID Hash") int idHash;
+
+        public void finish(String anchor, Object id) {
+            if (!shouldCommit()) return;
+            this.anchor = anchor;
+            this.idHash = idHash(id);
+            commit();
+        }
+    }
+
+    @Name("org.tpunn.autoblade.RegistryDeepSearch")
+    @Label("Registry Deep Search")
+    @Description("Search of the global blade registry by ID, type or path")
+    @Category({"AutoBlade", "Registry"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class DeepSearch extends Event {
+        @Label("Kind") String kind;
+        @Label("Blade Type") Class<?> bladeType;
+        @Label("ID Hash") int idHash;
+        @Label("Results") int results;
+
+        public void finish(String kind, Class<?> bladeType, Object id, int results) {
+            if (!shouldCommit()) return;
+            this.kind = kind;
+            this.bladeType = bladeType;
+            this.idHash = idHash(id);
+            this.results = results;
+            commit();
+        }
+    }
+
+    @Name("org.tpunn.autoblade.StrategyResolved")
+    @Label("Strategy Resolved")
+    @Description("Resolution of a strategy implementation by its key")
+    @Category({"AutoBlade", "Strategy"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class StrategyResolved extends Event {
+        @Label("Strategy") String strategy;
+        @Label("Key") String key;
+
+        public void finish(String strategy, Object key) {
+            if (!shouldCommit()) return;
+            this.strategy = strategy;
+            this.key = String.valueOf(key);
+            commit();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.tpunn.autoblade.registry;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Deep-search index of one anchor's blades, keyed by that anchor's own ID type. Each anchor gets a
+ * generated {@code @Singleton} subclass (e.g. {@code PlayerIndex extends BladeIndex<UUID, PlayerBlade>}),
+ * so lookups never box through Object keys, filter by type, or share hash space with other anchors.
+ * Blades are held weakly, like in {@link BladeRegistry}.
+ */
+public abstract class BladeIndex<K, B> {
+    /** Upper bound of cleared references processed inline by a single register call. */
+    private static final int DRAIN_BATCH = 64;
+
+    private final Class<B> type;
+    private final ConcurrentMap<K, List<BladeRef<K, B>>> byId = new ConcurrentHashMap<>();
+    private final ReferenceQueue<B> cleared = new ReferenceQueue<>();
+
+    protected BladeIndex(Class<B> type) {
+        this.type = type;
+    }
+
+    /** Indexes a blade; the most recent registration of an ID is the one {@link #find} returns. */
+    public void register(K id, B blade) {
+        drain(DRAIN_BATCH);
+        add(id, blade);
+    }
+
+    /** Batch registration: one queue drain for the whole batch */
+    public void registerAll(List<? extends K> ids, List<? extends B> blades) {
+        if (ids.size() != blades.size()) {
+            throw new IllegalArgumentException("Batch has " + ids.size() + " IDs for " + blades.size() + " blades");
+        }
+        drain(DRAIN_BATCH);
+        for (int i = 0; i < ids.size(); i++) add(ids.get(i), blades.get(i));
+    }
+
+    /**
+     * Removes this exact blade, leaving other registrations that share the ID untouched.
+     * @return false if the blade was not (or no longer) indexed
+     */
+    public boolean unregister(K id, B blade) {
+        boolean[] removed = new boolean[1];
+        byId.computeIfPresent(id, (k, refs) -> {
+            List<BladeRef<K, B>> kept = new ArrayList<>(refs.size());
+            for (BladeRef<K, B> ref : refs) {
+                B live = ref.get();
+                if (live == blade) removed[0] = true;
+                else if (live != null) kept.add(ref);
+            }
+            return kept.isEmpty() ? null : List.copyOf(kept);
+        });
+        return removed[0];
+    }
+
+    /** Deep Search: O(1) Find Latest */
+    public Optional<B> find(K id) {
+        BladeEvents.DeepSearch event = new BladeEvents.DeepSearch();
+        event.begin();
+        List<BladeRef<K, B>> refs = byId.get(id);
+        B found = null;
+        if (refs != null) {
+            for (int i = refs.size() - 1; i >= 0 && found == null; i--) found = refs.get(i).get();
+        }
+        event.finish("find", type, id, found != null ? 1 : 0);
+        return Optional.ofNullable(found);
+    }
+
+    /** Deep Search: every live blade registered under the ID, O(matches) */
+    public Set<B> findAll(K id) {
+        BladeEvents.DeepSearch event = new BladeEvents.DeepSearch();
+        event.begin();
+        Set<B> found = new LinkedHashSet<>();
+        List<BladeRef<K, B>> refs = byId.get(id);
+        if (refs != null) collect(refs, found);
+        event.finish("findAll", type, id, found.size());
+        return found;
+    }
+
+    /** Type Scan: every live blade of this anchor, O(blades of this anchor) */
+    public Set<B> all() {
+        BladeEvents.DeepSearch event = new BladeEvents.DeepSearch();
+        event.begin();
+        Set<B> found = new LinkedHashSet<>();
+        for (List<BladeRef<K, B>> refs : byId.values()) collect(refs, found);
+        event.finish("all", type, null, found.size());
+        return found;
+    }
+
+    /** Number of indexed IDs. */
+    public int size() {
+        return byId.size();
+    }
+
+    private void add(K id, B blade) {
+        if (id == null) throw new IllegalArgumentException("ID cannot be null");
+        BladeRef<K, B> ref = new BladeRef<>(id, blade, cleared);
+        byId.merge(id, List.of(ref), (refs, added) -> {
+            List<BladeRef<K, B>> merged = new ArrayList<>(refs.size() + 1);
+            for (BladeRef<K, B> existing : refs) {
+                if (existing.get() != null) merged.add(existing);
+            }
+            merged.add(ref);
+            return List.copyOf(merged);
+        });
+    }
+
+    private void collect(List<BladeRef<K, B>> refs, Set<B> into) {
+        for (BladeRef<K, B> ref : refs) {
+            B blade = ref.get();
+            if (blade != null) into.add(blade);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void drain(int limit) {
+        Reference<? extends B> polled;
+        for (int count = 0; count < limit && (polled = cleared.poll()) != null; count++) {
+            BladeRef<K, B> ref = (BladeRef<K, B>) polled;
+            byId.computeIfPresent(ref.id, (k, refs) -> {
+                if (!refs.contains(ref)) return refs;
+                List<BladeRef<K, B>> kept = new ArrayList<>(refs);
+                kept.remove(ref);
+                return kept.isEmpty() ? null : List.copyOf(kept);
+            });
+        }
+    }
+
+    /** Weak handle that remembers its ID so the queue can unlink it. */
+    private static final class BladeRef<K, B> extends WeakReference<B> {
+        final K id;
+        BladeRef(K id, B referent, ReferenceQueue<? super B> queue) {
+            super(referent, queue);
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package org.tpunn.autoblade.registry;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * Runtime counters for generated repositories, the registry and strategy resolvers.
+ * Every hot-path update is a LongAdder increment; nothing is aggregated until it is read.
+ * Registry gauges sum over every live registry.
+ * Read through {@link #snapshot()} or over JMX under the {@code org.tpunn.autoblade} domain.
+ * Compile it out with the {@code autoblade.metrics=false} processor option.
+ */
+public final class BladeMetrics {
+    private static final String DOMAIN = "org.tpunn.autoblade";
+    private static final ConcurrentMap<String, RepoMeter> REPOS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, LongAdder> RESOLVES = new ConcurrentHashMap<>();
+    /** Registries sampled by the snapshot; weak keys, so a discarded component graph is not pinned. */
+    private static final Map<Object, RegistryGauge<?>> REGISTRIES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    static {
+        expose("type=Metrics", new StandardMBean(new Overview(), OverviewMBean.class, false));
+    }
+
+    private BladeMetrics() {}
+
+    /** The meter shared by every repository of one anchor's blades. */
+    public static RepoMeter repo(String anchor) {
+        return REPOS.computeIfAbsent(anchor, name -> {
+            RepoMeter meter = new RepoMeter();
+            expose("type=Repository,name=" + ObjectName.quote(name), new StandardMBean(meter, RepoMeterMBean.class, false));
+            return meter;
+        });
+    }
+
+    /** Resolve counter of one strategy; resolvers keep it in a static field. */
+    public static LongAdder strategy(String name) {
+        return RESOLVES.computeIfAbsent(name, n -> new LongAdder());
+    }
+
+    /**
+     * Samples a registry's size and reclaimed count; repeated calls for the same registry are no-ops.
+     * The samplers must not capture the registry, or the weak key would never clear.
+     */
+    public static <R> void registry(R registry, ToLongFunction<R> size, ToLongFunction<R> reclaimed) {
+        REGISTRIES.putIfAbsent(registry, new RegistryGauge<>(size, reclaimed));
+    }
+
+    /** Pull API: every counter and gauge under a dotted name, e.g. "repo.Player.hits". */
+    public static Map<String, Long> snapshot() {
+        Map<String, Long> out = new TreeMap<>();
+        REPOS.forEach((name, meter) -> meter.describe("repo." + name + ".", out));
+        RESOLVES.forEach((name, count) -> out.put("strategy." + name + ".resolves", count.sum()));
+        long size = 0, reclaimed = 0;
+        synchronized (REGISTRIES) {
+            for (Map.Entry<Object, RegistryGauge<?>> entry : REGISTRIES.entrySet()) {
+                size += entry.getValue().size(entry.getKey());
+                reclaimed += entry.getValue().reclaimed(entry.getKey());
+            }
+        }
+        out.put("registry.size", size);
+        out.put("registry.reclaimed", reclaimed);
+        return out;
+    }
+
+    private record RegistryGauge<R>(ToLongFunction<R> size, ToLongFunction<R> reclaimed) {
+        @SuppressWarnings("unchecked")
+        long size(Object registry) { return size.applyAsLong((R) registry); }
+
+        @SuppressWarnings("unchecked")
+        long reclaimed(Object registry) { return reclaimed.applyAsLong((R) registry); }
+    }
+
+    private static void expose(String properties, Object mbean) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(mbean, new ObjectName(DOMAIN + ":" + properties));
+        } catch (Exception | LinkageError ignored) {
+            // Already exposed by another class loader, or no platform MBean server available
+        }
+    }
+
+    public interface RepoMeterMBean {
+        long getCreates();
+        long getLookups();
+        long getHits();
+        long getMisses();
+        long getSearches();
+        long getRemoves();
+        long getLiveBlades();
+        long getCreateLatencyP50Nanos();
+        long getCreateLatencyP99Nanos();
+    }
+
+    public static final class RepoMeter implements RepoMeterMBean {
+        private final LongAdder creates = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder searches = new LongAdder();
+        private final LongAdder removes = new LongAdder();
+        private final LongAdder live = new LongAdder();
+        private final Histogram createLatency = new Histogram();
+
+        RepoMeter() {}
+
+        /** A blade finished construction; {@code startNanos} is the System.nanoTime() taken before it began. */
+        public void created(long startNanos) {
+            createLatency.record(System.nanoTime() - startNanos);
+            creates.increment();
+            live.increment();
+        }
+
+        /** A blade left the repository (removal, release or eviction). */
+        public void released() {
+            removes.increment();
+            live.decrement();
+        }
+
+        /** A local cache lookup. */
+        public void lookup(boolean hit) {
+            (hit ? hits : misses).increment();
+        }
+
+        /** A bulk local cache lookup: {@code found} of the {@code requested} IDs were cached. */
+        public void lookups(int requested, int found) {
+            hits.add(found);
+            misses.add(requested - found);
+        }
+
+        /** A deep, path or type-scan search through the registry. */
+        public void searched() {
+            searches.increment();
+        }
+
+        public Histogram createLatency() { return createLatency; }
+        @Override public long getCreates() { return creates.sum(); }
+        @Override public long getLookups() { return hits.sum() + misses.sum(); }
+        @Override public long getHits() { return hits.sum(); }
+        @Override public long getMisses() { return misses.sum(); }
+        @Override public long getSearches() { return searches.sum(); }
+        @Override public long getRemoves() { return removes.sum(); }
+        @Override public long getLiveBlades() { return live.sum(); }
+        @Override public long getCreateLatencyP50Nanos() { return createLatency.percentile(0.50); }
+        @Override public long getCreateLatencyP99Nanos() { return createLatency.percentile(0.99); }
+
+        void describe(String prefix, Map<String, Long> out) {
+            out.put(prefix + "creates", getCreates());
+            out.put(prefix + "lookups", getLookups());
+            out.put(prefix + "hits", getHits());
+            out.put(prefix + "misses", getMisses());
+            out.put(prefix + "searches", getSearches());
+            out.put(prefix + "removes", getRemoves());
+            out.put(prefix + "live", getLiveBlades());
+            out.put(prefix + "createLatency.p50", getCreateLatencyP50Nanos());
+            out.put(prefix + "createLatency.p99", getCreateLatencyP99Nanos());
+        }
+    }
+
+    /**
+     * Fixed-bucket latency histogram. Bucket i counts durations in [2^(i-1), 2^i) nanoseconds,
+     * so recording is one leading-zero count and one increment, with no allocation.
+     */
+    public static final class Histogram {
+        private static final int BUCKETS = 40;
+        private final LongAdder[] counts = new LongAdder[BUCKETS];
+
+        Histogram() {
+            for (int i = 0; i < BUCKETS; i++) counts[i] = new LongAdder();
+        }
+
+        public void record(long nanos) {
+            int bucket = nanos <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+            counts[bucket].increment();
+        }
+
+        public long count() {
+            long total = 0;
+            for (LongAdder c : counts) total += c.sum();
+            return total;
+        }
+
+        /** Per-bucket counts; index i covers durations below 2^i nanoseconds. */
+        public long[] buckets() {
+            long[] out = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) out[i] = counts[i].sum();
+            return out;
+        }
+
+        /** Upper bound, in nanoseconds, of the bucket holding the given quantile; 0 when empty. */
+        public long percentile(double quantile) {
+            long[] snapshot = buckets();
+            long total = 0;
+            for (long c : snapshot) total += c;
+            if (total == 0) return 0;
+            long rank = (long) Math.ceil(quantile * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) return 1L << i;
+            }
+            return 1L << (BUCKETS - 1);
+        }
+    }
+
+    public interface OverviewMBean {
+        Map<String, Long> getSnapshot();
+    }
+
+    private static final class Overview implements OverviewMBean {
+        @Override public Map<String, Long> getSnapshot() { return snapshot(); }
+    }
+}
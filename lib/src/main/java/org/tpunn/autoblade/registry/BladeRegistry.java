@@ -1,64 +1,386 @@
-/* $PACKAGE_HOLDER$ */
 package org.tpunn.autoblade.registry;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 @Singleton
 public final class BladeRegistry {
-    private final ConcurrentMap<Object, BladeNode> index = new ConcurrentHashMap<>();
+    /** Partition count, fixed at build time by the autoblade.registry.shards processor option. */
+    static final int SHARDS = /* $SHARDS$ */ 16;
+    private static final int SHARD_SHIFT = 32 - Integer.numberOfTrailingZeros(SHARDS);
+    /** Upper bound of cleared references processed inline by a single register call. */
+    private static final int DRAIN_BATCH = 64;
+
+    private final Shard[] shards = new Shard[SHARDS];
+    private final ConcurrentMap<Class<?>, TypeIndex> types = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> cleared = new ReferenceQueue<>();
+    private final LongAdder reclaimed = new LongAdder();
 
     @Inject
-    public BladeRegistry() {}
+    public BladeRegistry() {
+        for (int i = 0; i < SHARDS; i++) shards[i] = new Shard();
+    }
 
-    /** Stitching logic: Connects child to parent for graph traversal */
-    public void register(Object id, Object instance, String parentId) {
-        BladeNode node = index.computeIfAbsent(id, BladeNode::new);
-        node.instance = new WeakReference<>(instance);
-        if (parentId != null) {
-            BladeNode parent = index.computeIfAbsent(parentId, BladeNode::new);
-            parent.children.add(node);
+    /**
+     * Stitching logic: indexes the blade under its type and connects it to its parent for graph traversal.
+     * Parents are identified by their blade type and ID, so anchors whose IDs collide never share children.
+     * @param parentType registered type of the parent blade, or null (with parentId) for a root blade
+     */
+    public void register(Object id, Object instance, Class<?> parentType, Object parentId, Class<?> type) {
+        drain(DRAIN_BATCH);
+        BladeNode node = attach(id, instance, type);
+        if (parentId != null) adopt(parentType, parentId, List.of(node));
+    }
+
+    /** Batch registration: one queue drain and one parent-lock acquisition for the whole batch */
+    public void registerAll(List<?> ids, List<?> instances, Class<?> parentType, Object parentId, Class<?> type) {
+        if (ids.size() != instances.size()) {
+            throw new IllegalArgumentException("Batch has " + ids.size() + " IDs for " + instances.size() + " blades");
         }
+        drain(DRAIN_BATCH);
+        List<BladeNode> nodes = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) nodes.add(attach(ids.get(i), instances.get(i), type));
+        if (parentId != null && !nodes.isEmpty()) adopt(parentType, parentId, nodes);
+    }
+
+    /**
+     * Teardown: Removes the node holding this exact blade together with its whole subtree,
+     * leaving other registrations that share the ID untouched.
+     * @return false if the blade was not (or no longer) registered
+     */
+    public boolean unregister(Object id, Object instance, Class<?> type) {
+        BladeNode node = locate(id, instance, type);
+        if (node == null) return false;
+        BladeNode parent = node.parent;
+        detach(node);
+        if (parent != null) parent.retireIfEmpty();
+        return true;
     }
 
     /** Deep Search: O(1) Find First */
-    @SuppressWarnings("unchecked")
     public <T> Optional<T> find(Object id) {
-        BladeNode node = index.get(id);
-        if (node == null || node.instance == null) return Optional.empty();
-        Object instance = node.instance.get();
+        BladeEvents.DeepSearch event = new BladeEvents.DeepSearch();
+        event.begin();
+        Optional<T> found = latest(id);
+        event.finish("find", null, id, found.isPresent() ? 1 : 0);
+        return found;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Optional<T> latest(Object id) {
+        BladeNode node = shardFor(id).latest.get(id);
+        if (node == null) return Optional.empty();
+        Object instance = node.get();
         if (instance == null) {
-            index.remove(id);
+            // A cleared hit means the queue has work; settle it on this lookup
+            drain(DRAIN_BATCH);
             return Optional.empty();
         }
         return Optional.of((T) instance);
     }
 
-    /** Deep Search: Aggregated Set */
+    /** Deep Search: Aggregated Set of every live blade of the type registered under the ID, O(matches) */
     public <T> Set<T> findAll(Object id, Class<T> type) {
-        return find(id).filter(type::isInstance).map(type::cast)
-                .map(Collections::singleton).orElse(Collections.emptySet());
+        BladeEvents.DeepSearch event = new BladeEvents.DeepSearch();
+        event.begin();
+        Set<T> found = new LinkedHashSet<>();
+        for (TypeIndex typeIndex : indexesFor(type)) {
+            Set<BladeNode> nodes = typeIndex.byId.get(id);
+            if (nodes != null) collect(nodes, type, found);
+        }
+        event.finish("findAll", type, id, found.size());
+        return found;
     }
 
-    /** Hierarchical Lookup: Find by specific path */
-    public <T> Optional<T> findInParent(Object parentId, Object childId, Class<T> type) {
-        BladeNode parent = index.get(parentId);
-        if (parent == null) return Optional.empty();
-        return parent.children.stream()
-            .filter(n -> n.id.equals(childId))
-            .map(n -> n.instance.get())
-            .filter(type::isInstance)
-            .map(type::cast)
-            .findFirst();
+    /** Type Scan: Every live blade registered with the type, O(blades of that type) */
+    public <T> Set<T> all(Class<T> type) {
+        BladeEvents.DeepSearch event = new BladeEvents.DeepSearch();
+        event.begin();
+        Set<T> found = new LinkedHashSet<>();
+        for (TypeIndex typeIndex : indexesFor(type)) {
+            for (Set<BladeNode> nodes : typeIndex.byId.values()) collect(nodes, type, found);
+        }
+        event.finish("all", type, null, found.size());
+        return found;
     }
 
-    private static class BladeNode {
+    /** Hierarchical Lookup: Find by specific path, one child-map hop below the parent; types are the registered ones */
+    public <T> Optional<T> findInParent(Class<?> parentType, Object parentId, Object childId, Class<T> type) {
+        BladeEvents.DeepSearch event = new BladeEvents.DeepSearch();
+        event.begin();
+        BladeNode parent = shardFor(parentId).nodes.get(new Key(parentType, parentId));
+        Optional<T> found = parent == null ? Optional.empty() : live(parent.children.get(new Key(type, childId)), type);
+        event.finish("path", type, childId, found.isPresent() ? 1 : 0);
+        return found;
+    }
+
+    /**
+     * Hierarchical Lookup: Walks root ID -> ... -> leaf ID through per-parent child maps.
+     * @param ancestors registered type of each ID but the last, root first
+     */
+    public <T> Optional<T> findPath(Class<T> type, Class<?>[] ancestors, Object... ids) {
+        if (ids.length == 0) return Optional.empty();
+        if (ancestors.length != ids.length - 1) {
+            throw new IllegalArgumentException("Path has " + ids.length + " IDs for " + ancestors.length + " ancestor types");
+        }
+        BladeEvents.DeepSearch event = new BladeEvents.DeepSearch();
+        event.begin();
+        BladeNode node = shardFor(ids[0]).nodes.get(new Key(ids.length == 1 ? type : ancestors[0], ids[0]));
+        for (int i = 1; i < ids.length && node != null; i++) {
+            node = node.children.get(new Key(i < ancestors.length ? ancestors[i] : type, ids[i]));
+        }
+        Optional<T> found = live(node, type);
+        event.finish("path", type, ids[ids.length - 1], found.isPresent() ? 1 : 0);
+        return found;
+    }
+
+    /** Number of indexed nodes (blades and parent stubs) across all shards. */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) size += shard.nodes.size();
+        return size;
+    }
+
+    /** Total nodes (blades and orphaned parent stubs) unlinked after their blade was collected. */
+    public long reclaimedCount() {
+        return reclaimed.sum();
+    }
+
+    /**
+     * Unlinks every node whose blade has been garbage collected.
+     * Registration already does this in small batches; call it to settle the index eagerly.
+     * @return the number of nodes reclaimed by this call
+     */
+    public int expungeStaleEntries() {
+        return drain(Integer.MAX_VALUE);
+    }
+
+    private int drain(int limit) {
+        int count = 0;
+        Reference<?> ref;
+        while (count < limit && (ref = cleared.poll()) != null) {
+            count += ((BladeRef) ref).node.reclaim((BladeRef) ref);
+        }
+        return count;
+    }
+
+    /**
+     * Indexes a blade. A parent stub waiting for this type and ID is filled in place; any other node
+     * keeps its typed and hierarchical entries and only loses the "latest" slots of its key and ID.
+     */
+    private BladeNode attach(Object id, Object instance, Class<?> type) {
+        Shard shard = shardFor(id);
+        Key key = new Key(type, id);
+        for (;;) {
+            BladeNode current = shard.nodes.get(key);
+            if (current != null) {
+                synchronized (current) {
+                    if (!current.retired && current.stub) {
+                        current.fill(instance);
+                        shard.latest.put(id, current);
+                        return current;
+                    }
+                }
+            }
+            BladeNode node = new BladeNode(key, false);
+            synchronized (node) {
+                boolean installed = current == null
+                        ? shard.nodes.putIfAbsent(key, node) == null
+                        : shard.nodes.replace(key, current, node);
+                if (!installed) continue;
+                node.fill(instance);
+                shard.latest.put(id, node);
+                return node;
+            }
+        }
+    }
+
+    /** Links children under the parent's node, creating a stub if the parent is not indexed yet. */
+    private void adopt(Class<?> parentType, Object parentId, List<BladeNode> children) {
+        if (parentType == null) throw new IllegalArgumentException("Parent " + parentId + " needs its blade type");
+        ConcurrentMap<Key, BladeNode> nodes = shardFor(parentId).nodes;
+        for (;;) {
+            BladeNode node = nodes.computeIfAbsent(new Key(parentType, parentId), k -> new BladeNode(k, true));
+            synchronized (node) {
+                if (node.retired) continue;
+                for (BladeNode child : children) {
+                    child.parent = node;
+                    node.children.put(child.key, child);
+                }
+                return;
+            }
+        }
+    }
+
+    private BladeNode locate(Object id, Object instance, Class<?> type) {
+        BladeNode latest = shardFor(id).nodes.get(new Key(type, id));
+        if (latest != null && latest.get() == instance) return latest;
+        TypeIndex typeIndex = types.get(type);
+        Set<BladeNode> nodes = typeIndex == null ? null : typeIndex.byId.get(id);
+        if (nodes == null) return null;
+        for (BladeNode node : nodes) {
+            if (node.get() == instance) return node;
+        }
+        return null;
+    }
+
+    private void detach(BladeNode node) {
+        synchronized (node) {
+            if (node.retired) return;
+            node.retired = true;
+            node.instance = null;
+        }
+        node.unlink();
+        for (BladeNode child : node.children.values()) detach(child);
+    }
+
+    /** Exact type first; otherwise the (few) registered types assignable to it. */
+    private List<TypeIndex> indexesFor(Class<?> type) {
+        TypeIndex exact = types.get(type);
+        if (exact != null) return List.of(exact);
+        List<TypeIndex> matches = new ArrayList<>();
+        for (Map.Entry<Class<?>, TypeIndex> entry : types.entrySet()) {
+            if (type.isAssignableFrom(entry.getKey())) matches.add(entry.getValue());
+        }
+        return matches;
+    }
+
+    private <T> Optional<T> live(BladeNode node, Class<T> type) {
+        Object instance = node == null ? null : node.get();
+        return type.isInstance(instance) ? Optional.of(type.cast(instance)) : Optional.empty();
+    }
+
+    private <T> void collect(Set<BladeNode> nodes, Class<T> type, Set<T> into) {
+        boolean stale = false;
+        for (BladeNode node : nodes) {
+            Object instance = node.get();
+            if (instance == null) stale = true;
+            else if (type.isInstance(instance)) into.add(type.cast(instance));
+        }
+        if (stale) drain(DRAIN_BATCH);
+    }
+
+    /**
+     * Picks the shard from the high bits of a Fibonacci-mixed hash, so the low bits that
+     * ConcurrentHashMap uses for bin selection stay evenly spread inside every shard.
+     */
+    private Shard shardFor(Object id) {
+        long mixed = (id.hashCode() * 0x9E3779B9L) & 0xFFFFFFFFL;
+        return shards[(int) (mixed >>> SHARD_SHIFT)];
+    }
+
+    /** Independently resized partition of the index. */
+    private static final class Shard {
+        /** Node of each blade type and ID, parent stubs included; the tree hangs off these. */
+        final ConcurrentMap<Key, BladeNode> nodes = new ConcurrentHashMap<>();
+        /** Most recently registered node of each ID, whatever its type, for untyped finds. */
+        final ConcurrentMap<Object, BladeNode> latest = new ConcurrentHashMap<>();
+    }
+
+    /** Blade type and ID: the identity of a node among its siblings and in its shard. */
+    private record Key(Class<?> type, Object id) {}
+
+    /** Secondary index holding every registered blade of one type, keyed by ID. */
+    private static final class TypeIndex {
+        final ConcurrentMap<Object, Set<BladeNode>> byId = new ConcurrentHashMap<>();
+
+        void add(BladeNode node) {
+            byId.compute(node.id, (k, nodes) -> {
+                Set<BladeNode> set = nodes != null ? nodes : ConcurrentHashMap.newKeySet();
+                set.add(node);
+                return set;
+            });
+        }
+
+        void remove(BladeNode node) {
+            byId.computeIfPresent(node.id, (k, nodes) -> nodes.remove(node) && nodes.isEmpty() ? null : nodes);
+        }
+    }
+
+    /** Weak handle that remembers its node so the queue can unlink it. */
+    private static final class BladeRef extends WeakReference<Object> {
+        final BladeNode node;
+        BladeRef(Object referent, BladeNode node, ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.node = node;
+        }
+    }
+
+    private final class BladeNode {
+        final Key key;
         final Object id;
-        volatile WeakReference<Object> instance;
-        final Set<BladeNode> children = ConcurrentHashMap.newKeySet();
-        BladeNode(Object id) { this.id = id; }
+        final Class<?> type;
+        volatile BladeRef instance;
+        volatile BladeNode parent;
+        final ConcurrentMap<Key, BladeNode> children = new ConcurrentHashMap<>();
+        /** True while the node only anchors children registered before their parent blade. */
+        boolean stub;
+        boolean retired;
+
+        BladeNode(Key key, boolean stub) {
+            this.key = key;
+            this.id = key.id();
+            this.type = key.type();
+            this.stub = stub;
+        }
+
+        /** Caller holds this node's monitor. */
+        void fill(Object blade) {
+            instance = new BladeRef(blade, this, cleared);
+            stub = false;
+            types.computeIfAbsent(type, k -> new TypeIndex()).add(this);
+        }
+
+        Object get() {
+            BladeRef ref = instance;
+            return ref == null ? null : ref.get();
+        }
+
+        /**
+         * Drops the cleared instance and retires this node and any parent stubs left empty.
+         * A node that still has children stays in the tree, but leaves its type index at once
+         * so type queries stop meeting the cleared reference.
+         */
+        int reclaim(BladeRef ref) {
+            synchronized (this) {
+                // Re-registered with a fresh blade since this reference was enqueued
+                if (instance != ref) return 0;
+                instance = null;
+                if (!stub) types.get(type).remove(this);
+            }
+            return retireIfEmpty();
+        }
+
+        /** Drops every index entry pointing at this (retired) node. */
+        void unlink() {
+            Shard shard = shardFor(id);
+            shard.nodes.remove(key, this);
+            shard.latest.remove(id, this);
+            if (!stub) types.get(type).remove(this);
+            BladeNode up = parent;
+            if (up != null) up.children.remove(key, this);
+        }
+
+        int retireIfEmpty() {
+            int count = 0;
+            BladeNode node = this;
+            while (node != null) {
+                synchronized (node) {
+                    if (node.retired || node.instance != null || !node.children.isEmpty()) break;
+                    node.retired = true;
+                }
+                node.unlink();
+                reclaimed.increment();
+                count++;
+                node = node.parent;
+            }
+            return count;
+        }
     }
 }
@@ -0,0 +1,60 @@
+package org.tpunn.autoblade.registry;
+
+import java.util.HashMap;
+
+/**
+ * Unsynchronized blade cache for repositories owned by a single thread (e.g. an event loop).
+ * The first thread to touch the cache becomes its owner; with assertions enabled (-ea)
+ * any access from another thread fails fast instead of silently corrupting the map.
+ */
+public final class ConfinedMap<K, V> extends HashMap<K, V> {
+    private static final long serialVersionUID = 1L;
+    private transient Thread owner;
+
+    @Override
+    public V get(Object key) {
+        assert ownedByCaller() : misuse();
+        return super.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        assert ownedByCaller() : misuse();
+        return super.containsKey(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        assert ownedByCaller() : misuse();
+        return super.put(key, value);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        assert ownedByCaller() : misuse();
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        assert ownedByCaller() : misuse();
+        return super.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        assert ownedByCaller() : misuse();
+        super.clear();
+    }
+
+    /** Claims the map for the first thread to touch it; only called from assertions, so free without -ea. */
+    private boolean ownedByCaller() {
+        Thread current = Thread.currentThread();
+        if (owner == null) owner = current;
+        return owner == current;
+    }
+
+    private String misuse() {
+        return "Confined repository owned by " + owner.getName() + " was accessed from " + Thread.currentThread().getName();
+    }
+}
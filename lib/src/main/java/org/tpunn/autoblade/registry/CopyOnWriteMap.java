@@ -0,0 +1,81 @@
+package org.tpunn.autoblade.registry;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Blade cache for read-mostly repositories. Reads go straight to an immutable snapshot with
+ * no locking or CAS; every write copies the snapshot under a lock and republishes it.
+ * Writes cost O(n), so it suits caches that are created once and looked up constantly.
+ */
+public final class CopyOnWriteMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+    private volatile Map<K, V> snapshot = Map.of();
+
+    @Override
+    public V get(Object key) {
+        return key == null ? null : snapshot.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key != null && snapshot.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return snapshot.size();
+    }
+
+    /** A point-in-time view; later writes are not reflected in it. */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return snapshot.entrySet();
+    }
+
+    @Override
+    public synchronized V put(K key, V value) {
+        Map<K, V> copy = new HashMap<>(snapshot);
+        V previous = copy.put(Objects.requireNonNull(key), Objects.requireNonNull(value));
+        snapshot = Collections.unmodifiableMap(copy);
+        return previous;
+    }
+
+    @Override
+    public synchronized V putIfAbsent(K key, V value) {
+        V existing = snapshot.get(key);
+        return existing != null ? existing : put(key, value);
+    }
+
+    @Override
+    public synchronized V remove(Object key) {
+        if (key == null || !snapshot.containsKey(key)) return null;
+        Map<K, V> copy = new HashMap<>(snapshot);
+        V previous = copy.remove(key);
+        snapshot = Collections.unmodifiableMap(copy);
+        return previous;
+    }
+
+    @Override
+    public synchronized boolean remove(Object key, Object value) {
+        if (value == null || !value.equals(get(key))) return false;
+        remove(key);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean replace(K key, V oldValue, V newValue) {
+        if (oldValue == null || !oldValue.equals(get(key))) return false;
+        put(key, newValue);
+        return true;
+    }
+
+    @Override
+    public synchronized V replace(K key, V value) {
+        return containsKey(key) ? put(key, value) : null;
+    }
+
+    @Override
+    public synchronized void clear() {
+        snapshot = Map.of();
+    }
+}
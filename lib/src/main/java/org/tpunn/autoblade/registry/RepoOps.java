@@ -1,7 +1,12 @@
 package org.tpunn.autoblade.registry;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -9,37 +14,341 @@ import java.util.function.Supplier;
  * Encapsulates creation, local lookup, and traversal strategies.
  */
 public final class RepoOps {
+    private static final Executor VIRTUAL_THREADS = task -> Thread.ofVirtual().name("autoblade-async").start(task);
+
     private RepoOps() {}
 
+    /**
+     * Default executor for asynchronous repository methods: one virtual thread per call,
+     * so blades whose services block during construction never pin a platform thread.
+     */
+    public static Executor virtualThreads() {
+        return VIRTUAL_THREADS;
+    }
+
     /**
      * Atomic creation logic.
      * Uses computeIfAbsent for ConcurrentMaps to ensure thread-safety.
      */
     @SuppressWarnings({"unchecked", "rawtypes"})
-    public static <T> T createAtomic(Map<?, T> cache, Object id, Supplier<T> builder) {
+    public static <T> T createAtomic(Map cache, Object id, java.util.function.Supplier<T> builder) {
         if (id == null) throw new IllegalArgumentException("ID cannot be null");
-
-        // Use a raw cast to 'Map' to bypass capture #1 extends Object issues
-        Map rawCache = (Map) cache;
-
-        if (cache instanceof ConcurrentMap) {
-            return (T) ((ConcurrentMap) rawCache).computeIfAbsent(id, k -> builder.get());
+        if (cache instanceof java.util.concurrent.ConcurrentMap cm) {
+            return (T) cm.computeIfAbsent(id, k -> builder.get());
         }
-
         synchronized (cache) {
-            T existing = (T) rawCache.get(id);
+            T existing = (T) cache.get(id);
             if (existing != null) return existing;
-            
             T created = builder.get();
-            rawCache.put(id, created);
+            cache.put(id, created);
             return created;
         }
     }
 
+    /**
+     * Non-blocking creation logic.
+     * Installs an in-flight placeholder, builds the blade outside any cache or bin lock and
+     * then publishes it, so slow subcomponent construction never stalls unrelated IDs.
+     * Concurrent creates for the same ID wait for the first one and return its blade.
+     */
+    @SuppressWarnings("rawtypes")
+    public static <T> T createAtomic(Map cache, ConcurrentMap<Object, CompletableFuture<Object>> inFlight,
+                                     Object id, Supplier<T> builder) {
+        if (id == null) throw new IllegalArgumentException("ID cannot be null");
+        return singleFlight(cache, inFlight, id, builder);
+    }
+
+    /**
+     * Bulk creation logic.
+     * Resolves cached blades in one pass, builds every miss outside any lock, then registers and
+     * publishes the new blades as one batch. Results follow the seed order; duplicate IDs share a blade.
+     * IDs another thread is already creating are awaited only after this batch has published its own.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <S, T> List<T> createAll(Map cache, ConcurrentMap<Object, CompletableFuture<Object>> inFlight,
+                                           Collection<? extends S> seeds, Function<? super S, Object> idOf,
+                                           Function<? super S, ? extends T> build,
+                                           BiConsumer<List<Object>, List<T>> register) {
+        List<Object> ids = new ArrayList<>(seeds.size());
+        for (S seed : seeds) {
+            Object id = idOf.apply(seed);
+            if (id == null) throw new IllegalArgumentException("ID cannot be null");
+            ids.add(id);
+        }
+        Map<Object, Object> resolved = peekAll(cache, ids);
+
+        boolean confined = cache instanceof ConfinedMap;
+        Map<Object, S> claimed = new LinkedHashMap<>();
+        Map<Object, Pending> mine = new HashMap<>();
+        Map<Object, CompletableFuture<Object>> theirs = new HashMap<>();
+        try {
+            Iterator<? extends S> seed = seeds.iterator();
+            for (Object id : ids) {
+                S next = seed.next();
+                if (resolved.containsKey(id) || claimed.containsKey(id) || theirs.containsKey(id)) continue;
+                if (!confined) {
+                    Pending placeholder = new Pending();
+                    CompletableFuture<Object> pending = inFlight.putIfAbsent(id, placeholder);
+                    if (pending != null) {
+                        if (pending instanceof Pending p && p.owner == Thread.currentThread()) {
+                            throw new IllegalStateException("Recursive creation of blade " + id);
+                        }
+                        theirs.put(id, pending);
+                        continue;
+                    }
+                    mine.put(id, placeholder);
+                }
+                claimed.put(id, next);
+            }
+
+            // Previous flights may have published between the peek and the claims
+            resolved.putAll(peekAll(cache, claimed.keySet()));
+            List<Object> newIds = new ArrayList<>();
+            List<T> blades = new ArrayList<>();
+            for (Map.Entry<Object, S> entry : claimed.entrySet()) {
+                if (resolved.containsKey(entry.getKey())) continue;
+                newIds.add(entry.getKey());
+                blades.add(build.apply(entry.getValue()));
+            }
+            if (!newIds.isEmpty()) {
+                register.accept(newIds, blades);
+                publishAll(cache, newIds, blades, resolved);
+            }
+            for (Map.Entry<Object, Pending> entry : mine.entrySet()) {
+                entry.getValue().complete(resolved.get(entry.getKey()));
+            }
+        } catch (RuntimeException | Error e) {
+            for (Pending placeholder : mine.values()) placeholder.completeExceptionally(e);
+            throw e;
+        } finally {
+            for (Map.Entry<Object, Pending> entry : mine.entrySet()) inFlight.remove(entry.getKey(), entry.getValue());
+        }
+
+        for (Map.Entry<Object, CompletableFuture<Object>> entry : theirs.entrySet()) {
+            resolved.put(entry.getKey(), await(entry.getValue()));
+        }
+        List<T> blades = new ArrayList<>(ids.size());
+        for (Object id : ids) blades.add((T) resolved.get(id));
+        return blades;
+    }
+
+    /**
+     * Bulk local lookup: one pass, and at most one lock, for the whole batch.
+     * Returns the cached blades in ID order; IDs with no blade are left out.
+     * Callers record metrics and the BulkLookup event once per batch, not per ID.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <K, T> Map<K, T> getAll(Map cache, Collection<K> ids) {
+        return (Map<K, T>) (Map) peekAll(cache, ids);
+    }
+
+    /**
+     * Loader-backed lookup with single-flight coalescing.
+     * The first miss for an ID runs the load; concurrent misses (and creates) for the same ID
+     * wait on its result instead of loading again. A null load publishes nothing.
+     */
+    @SuppressWarnings("rawtypes")
+    public static <T> T loadAtomic(Map cache, ConcurrentMap<Object, CompletableFuture<Object>> inFlight,
+                                   Object id, Supplier<T> load) {
+        if (id == null) return null;
+        return singleFlight(cache, inFlight, id, load);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> T singleFlight(Map cache, ConcurrentMap<Object, CompletableFuture<Object>> inFlight,
+                                      Object id, Supplier<T> supplier) {
+        T cached = peek(cache, id);
+        if (cached != null) return cached;
+        if (cache instanceof ConfinedMap) {
+            // Single owner thread: nothing can race the build, so skip the placeholder
+            T created = supplier.get();
+            if (created != null) cache.put(id, created);
+            return created;
+        }
+
+        Pending mine = new Pending();
+        CompletableFuture<Object> pending = inFlight.putIfAbsent(id, mine);
+        if (pending != null) {
+            if (pending instanceof Pending p && p.owner == Thread.currentThread()) {
+                throw new IllegalStateException("Recursive creation of blade " + id);
+            }
+            return await(pending);
+        }
+        try {
+            // A previous flight may have published between the peek and the install
+            T result = peek(cache, id);
+            if (result == null) {
+                result = supplier.get();
+                if (result != null) result = publish(cache, id, result);
+            }
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, mine);
+        }
+    }
+
+    /** ConcurrentMaps guard themselves and confined maps need no guard; only plain maps take the monitor. */
+    @SuppressWarnings("rawtypes")
+    private static boolean lockFree(Map cache) {
+        return cache instanceof ConcurrentMap || cache instanceof ConfinedMap;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> T peek(Map cache, Object id) {
+        if (lockFree(cache)) return (T) cache.get(id);
+        synchronized (cache) {
+            return (T) cache.get(id);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Map<Object, Object> peekAll(Map cache, Collection<?> ids) {
+        Map<Object, Object> found = new LinkedHashMap<>();
+        if (lockFree(cache)) {
+            for (Object id : ids) {
+                Object blade = id == null ? null : cache.get(id);
+                if (blade != null) found.put(id, blade);
+            }
+            return found;
+        }
+        synchronized (cache) {
+            for (Object id : ids) {
+                Object blade = id == null ? null : cache.get(id);
+                if (blade != null) found.put(id, blade);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Publishes a batch, recording in {@code into} whichever blade ends up cached under each ID.
+     * A bounded cache admits the batch in one step, so it never evicts blades this batch is about to return.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void publishAll(Map cache, List<Object> ids, List<?> blades, Map<Object, Object> into) {
+        if (cache instanceof BladeCache bounded) {
+            List<Object> cached = bounded.putAllIfAbsent(ids, blades);
+            for (int i = 0; i < ids.size(); i++) into.put(ids.get(i), cached.get(i));
+            return;
+        }
+        if (lockFree(cache)) {
+            for (int i = 0; i < ids.size(); i++) {
+                Object existing = cache.putIfAbsent(ids.get(i), blades.get(i));
+                into.put(ids.get(i), existing != null ? existing : blades.get(i));
+            }
+            return;
+        }
+        synchronized (cache) {
+            for (int i = 0; i < ids.size(); i++) {
+                Object existing = cache.putIfAbsent(ids.get(i), blades.get(i));
+                into.put(ids.get(i), existing != null ? existing : blades.get(i));
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> T publish(Map cache, Object id, T blade) {
+        if (lockFree(cache)) {
+            T existing = (T) cache.putIfAbsent(id, blade);
+            return existing != null ? existing : blade;
+        }
+        synchronized (cache) {
+            T existing = (T) cache.putIfAbsent(id, blade);
+            return existing != null ? existing : blade;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T await(CompletableFuture<Object> pending) {
+        try {
+            return (T) pending.join();
+        } catch (CompletionException e) {
+            // Surface the builder's own failure rather than the future's wrapper
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    /** In-flight placeholder that remembers its creating thread to catch re-entrant creates. */
+    private static final class Pending extends CompletableFuture<Object> {
+        final Thread owner = Thread.currentThread();
+    }
+
+    /**
+     * Atomic removal logic.
+     * Returns the evicted blade, or null when nothing was cached under the ID.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> T remove(Map cache, Object id) {
+        if (id == null) return null;
+        if (lockFree(cache)) {
+            return (T) cache.remove(id);
+        }
+        synchronized (cache) {
+            return (T) cache.remove(id);
+        }
+    }
+
+    /**
+     * Empties a cache and hands every evicted blade to the teardown callback.
+     * Entries are detached first so teardown never runs under the cache's lock.
+     * @return the number of blades released
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> int removeAll(Map cache, java.util.function.BiConsumer<Object, T> teardown) {
+        List<Map.Entry<Object, T>> evicted = new ArrayList<>();
+        if (lockFree(cache)) {
+            for (Object id : new ArrayList<>(cache.keySet())) {
+                Object blade = cache.remove(id);
+                if (blade != null) evicted.add(Map.entry(id, (T) blade));
+            }
+        } else {
+            synchronized (cache) {
+                for (Map.Entry<Object, T> entry : ((Map<Object, T>) cache).entrySet()) {
+                    evicted.add(Map.entry(entry.getKey(), entry.getValue()));
+                }
+                cache.clear();
+            }
+        }
+        RuntimeException failure = null;
+        for (Map.Entry<Object, T> entry : evicted) {
+            try {
+                teardown.accept(entry.getKey(), entry.getValue());
+            } catch (RuntimeException e) {
+                if (failure == null) failure = e; else failure.addSuppressed(e);
+            }
+        }
+        if (failure != null) throw failure;
+        return evicted.size();
+    }
+
+    /**
+     * Closes a batch of scoped resources in one pass.
+     * Every resource is attempted; the first failure is rethrown with the rest suppressed.
+     */
+    public static void closeAll(Iterable<? extends AutoCloseable> resources) {
+        IllegalStateException failure = null;
+        for (AutoCloseable resource : resources) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                if (failure == null) failure = new IllegalStateException("Failed to close blade resources", e);
+                else failure.addSuppressed(e);
+            }
+        }
+        if (failure != null) throw failure;
+    }
+
     /**
      * Standard local lookup logic.
      */
     public static <T> T lookup(Map<Object, T> cache, Object id) {
+        if (id == null) return null;
         return cache.get(id);
     }
 
@@ -57,11 +366,26 @@ public final class RepoOps {
         return registry.findAll(id, type);
     }
 
+    /**
+     * Lists every live blade of a type via the Global Registry's per-type index.
+     */
+    public static <T> Set<T> all(BladeRegistry registry, Class<T> type) {
+        return registry.all(type);
+    }
+
     /**
      * Hierarchical traversal logic for nested lookups.
      * e.g., Finding a project within a specific user.
      */
-    public static <T> Optional<T> traverse(BladeRegistry registry, Object parentId, Object childId, Class<T> type) {
-        return registry.findInParent(parentId, childId, type);
+    public static <T> Optional<T> traverse(BladeRegistry registry, Class<?> parentType, Object parentId, Object childId, Class<T> type) {
+        return registry.findInParent(parentType, parentId, childId, type);
+    }
+
+    /**
+     * Multi-level traversal from a root ID down to the leaf blade.
+     * e.g., Finding a player within a team within a league.
+     */
+    public static <T> Optional<T> traversePath(BladeRegistry registry, Class<T> type, Class<?>[] ancestors, Object... ids) {
+        return registry.findPath(type, ancestors, ids);
     }
 }
@@ -0,0 +1,129 @@
+package org.tpunn.autoblade.registry;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Blade cache split into a fixed number of plain hash maps, each guarded by its own monitor.
+ * Writers only contend when their IDs land on the same stripe, and the cache carries none of
+ * ConcurrentHashMap's per-node overhead. Like ConcurrentHashMap it holds no null keys or values: storing one
+ * throws NullPointerException, while lookups, removals and replacements of a null key find nothing.
+ */
+public final class StripedMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+    private final Map<K, V>[] stripes;
+    private final int mask;
+
+    /** @param stripes lock stripes, rounded up to a power of two */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public StripedMap(int stripes) {
+        int count = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Map[count];
+        for (int i = 0; i < count; i++) this.stripes[i] = new HashMap<>();
+        this.mask = count - 1;
+    }
+
+    @Override
+    public V get(Object key) {
+        if (key == null) return null;
+        Map<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.get(key);
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Map<K, V> stripe = stripeFor(Objects.requireNonNull(key));
+        synchronized (stripe) {
+            return stripe.put(key, Objects.requireNonNull(value));
+        }
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        Map<K, V> stripe = stripeFor(Objects.requireNonNull(key));
+        synchronized (stripe) {
+            return stripe.putIfAbsent(key, Objects.requireNonNull(value));
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (key == null) return null;
+        Map<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.remove(key);
+        }
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        if (key == null) return false;
+        Map<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.remove(key, value);
+        }
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        Objects.requireNonNull(newValue);
+        if (key == null) return false;
+        Map<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.replace(key, oldValue, newValue);
+        }
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        Objects.requireNonNull(value);
+        if (key == null) return null;
+        Map<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.replace(key, value);
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Map<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (Map<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    /** Stripe-by-stripe copy; weakly consistent like ConcurrentHashMap iteration. */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Map<K, V> copy = new HashMap<>();
+        for (Map<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                copy.putAll(stripe);
+            }
+        }
+        return Collections.unmodifiableSet(copy.entrySet());
+    }
+
+    private Map<K, V> stripeFor(Object key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & mask];
+    }
+}
@@ -7,6 +7,7 @@ import org.tpunn.autoblade.annotations.Strategy;
 
 import java.util.Optional;
 
+import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.*;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
@@ -17,17 +18,31 @@ public final class BindingUtils {
 
     /** Extracts the raw Blade type from Optional<T>, Set<T>, or T */
     public static TypeName extractBladeType(ExecutableElement method) {
-        TypeMirror returnType = method.getReturnType();
+        TypeMirror returnType = resultType(method);
         if (returnType.getKind() == TypeKind.DECLARED) {
             DeclaredType declared = (DeclaredType) returnType;
-            // If it's a wrapper like Optional<PlayerBlade> or Set<PlayerBlade>
+            // If it's a wrapper like Optional<PlayerBlade>, Set<PlayerBlade> or Map<UUID, PlayerBlade>
             if (!declared.getTypeArguments().isEmpty()) {
-                return TypeName.get(declared.getTypeArguments().get(0));
+                return TypeName.get(declared.getTypeArguments().get(declared.getTypeArguments().size() - 1));
             }
         }
         return TypeName.get(returnType);
     }
 
+    /** Whether a repository method completes asynchronously (returns CompletableFuture<T>) */
+    public static boolean isAsync(ExecutableElement method) {
+        return method.getReturnType() instanceof DeclaredType dt
+                && ((TypeElement) dt.asElement()).getQualifiedName().contentEquals("java.util.concurrent.CompletableFuture")
+                && dt.getTypeArguments().size() == 1;
+    }
+
+    /** The value a repository method produces: T for CompletableFuture<T>, otherwise its return type */
+    public static TypeMirror resultType(ExecutableElement method) {
+        return isAsync(method)
+                ? ((DeclaredType) method.getReturnType()).getTypeArguments().get(0)
+                : method.getReturnType();
+    }
+
     /** Converts a Blade TypeName back to its Anchor string (e.g., PlayerBlade -> PLAYER) */
     public static String parseAnchorFromBladeName(TypeName bladeType) {
         String simpleName = (bladeType instanceof ClassName cn) 
@@ -43,10 +58,10 @@ public final class BindingUtils {
 
     /** Parses the base name for a Blade (e.g., "UserBladeContract" -> "User") */
     public static String parseBladeName(ExecutableElement method) {
-        TypeMirror returnType = method.getReturnType();
+        TypeMirror returnType = resultType(method);
         // If it's a collection/optional, get the inner type name
         if (returnType instanceof DeclaredType dt && !dt.getTypeArguments().isEmpty()) {
-            returnType = dt.getTypeArguments().get(0);
+            returnType = dt.getTypeArguments().get(dt.getTypeArguments().size() - 1);
         }
         if (returnType == null) throw new IllegalArgumentException("Method must have a return type");
         String simple = returnType.toString();
@@ -54,6 +69,14 @@ public final class BindingUtils {
         return simple.replace("Contract", "").replace("Blade", "").replace("_Auto", "");
     }
 
+    /** Element type of a bulk parameter (e.g. Collection<PlayerData> -> PlayerData), or null if it is not a Collection */
+    public static TypeMirror collectionElement(TypeMirror type, ProcessingEnvironment env) {
+        if (!(type instanceof DeclaredType dt) || dt.getTypeArguments().size() != 1) return null;
+        var types = env.getTypeUtils();
+        TypeMirror collection = types.erasure(env.getElementUtils().getTypeElement("java.util.Collection").asType());
+        return types.isAssignable(types.erasure(type), collection) ? dt.getTypeArguments().get(0) : null;
+    }
+
     public static TypeMirror resolveIdType(TypeElement seed) {
         Element idElement = findIdElement(seed);
         if (idElement == null) return seed.asType(); // Self-ID fallback
@@ -107,6 +130,28 @@ public final class BindingUtils {
                 .orElse("Unknown");
     }
 
+    /** The Blade type a repository manages, taken from its first @Create/@Lookup method */
+    public static TypeName parseBladeTypeFromRepo(TypeElement repo) {
+        return repo.getEnclosedElements().stream()
+                .filter(e -> e != null && e.getKind() == ElementKind.METHOD)
+                .map(e -> (ExecutableElement) e)
+                .filter(m -> hasAnnotation(m, "org.tpunn.autoblade.annotations.Create") 
+                        || hasAnnotation(m, "org.tpunn.autoblade.annotations.Lookup"))
+                .map(BindingUtils::extractBladeType)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /** The repository's @Loader method, if it declares one */
+    public static ExecutableElement findLoader(TypeElement repo) {
+        return repo.getEnclosedElements().stream()
+                .filter(e -> e != null && e.getKind() == ElementKind.METHOD)
+                .map(e -> (ExecutableElement) e)
+                .filter(m -> hasAnnotation(m, "org.tpunn.autoblade.annotations.Loader"))
+                .findFirst()
+                .orElse(null);
+    }
+
     public static Optional<? extends AnnotationMirror> getStrategyMirror(TypeElement te) {
         return te.getAnnotationMirrors().stream()
                 .filter(m -> m != null && m.getAnnotationType().asElement().getAnnotation(Strategy.class) != null)
@@ -11,7 +11,14 @@ public final class FactoryNaming {
      * Resolves the name using the best interface as the base prefix.
      */
     public static String resolveName(TypeElement element, ProcessingEnvironment env, String annotationFq, String fallbackSuffix) {
-        TypeMirror bestInterface = InterfaceSelector.selectBestInterface(element, env);
+        return resolveName(element, InterfaceSelector.selectBestInterface(element, env), env, annotationFq, fallbackSuffix);
+    }
+
+    /**
+     * Same as above, for callers that already selected the element's best interface.
+     */
+    public static String resolveName(TypeElement element, TypeMirror bestInterface, ProcessingEnvironment env,
+                                     String annotationFq, String fallbackSuffix) {
         if (bestInterface == null) {
             // Fallback to the class name if no interface is found
             return element.getSimpleName().toString() + fallbackSuffix;
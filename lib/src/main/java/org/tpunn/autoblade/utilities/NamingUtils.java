@@ -18,4 +18,14 @@ public final class NamingUtils {
         }
         return sb.toString();
     }
+
+    /** Qualifier of the optional Executor that runs asynchronous repository methods. */
+    public static final String EXECUTOR_QUALIFIER = "autoblade.executor";
+
+    /**
+     * Qualifier for the set of AutoCloseable resources an anchor's blade owns, e.g. "autoblade.Player.closeables".
+     */
+    public static String teardownQualifier(String anchor) {
+        return "autoblade." + toPascalCase(anchor) + ".closeables";
+    }
 }
@@ -0,0 +1,204 @@
+package org.tpunn.autoblade.utilities;
+
+import org.tpunn.autoblade.annotations.*;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import java.util.*;
+
+/**
+ * Everything one round needs, scanned once in {@code AutoBladeProcessor.process}: the annotated
+ * elements by role, their resolved anchor locations, annotation names and chosen business interfaces.
+ * Sub-processors read from this instead of re-walking the round environment and annotation mirrors.
+ *
+ * Every collection is ordered by qualified name (and locations alphabetically), never by round
+ * environment iteration order, so identical inputs always generate byte-identical sources.
+ */
+public final class RoundModel {
+    private static final Comparator<TypeElement> BY_NAME = Comparator.comparing(te -> te.getQualifiedName().toString());
+
+    private final Set<TypeElement> seeds;
+    private final Set<TypeElement> contracts;
+    private final Set<TypeElement> repos;
+    private final Set<TypeElement> services;
+    private final Set<TypeElement> anchored;
+    private final Set<TypeElement> factories;
+    private final Map<TypeElement, List<TypeElement>> strategies;
+
+    private final Map<String, TypeElement> anchorToSeed;
+    private final Map<String, TypeElement> contractByLocation;
+    private final Map<String, List<TypeElement>> seedsByLocation;
+    private final Map<String, List<TypeElement>> reposByLocation;
+    private final Map<String, List<TypeElement>> servicesByLocation;
+
+    private final Map<TypeElement, String> locations = new HashMap<>();
+    private final Map<TypeElement, Set<String>> annotationNames = new HashMap<>();
+    private final Map<TypeElement, TypeMirror> interfaces = new HashMap<>();
+
+    private RoundModel(RoundEnvironment roundEnv, ProcessingEnvironment env) {
+        this.seeds = collect(roundEnv, Seed.class);
+        this.contracts = collect(roundEnv, Blade.class);
+        this.repos = collect(roundEnv, Repository.class);
+        this.anchored = collect(roundEnv, Anchored.class);
+        this.factories = collect(roundEnv, AutoFactory.class, AutoBuilder.class);
+
+        // Bindable services; Blade contracts are excluded to avoid circular dependencies
+        Set<TypeElement> svcs = new LinkedHashSet<>(collect(roundEnv, Transient.class, Scoped.class, javax.inject.Singleton.class,
+                AutoBuilder.class, AutoFactory.class));
+        svcs.removeIf(te -> has(te, Blade.class.getName()));
+        this.services = Collections.unmodifiableSet(svcs);
+
+        Map<TypeElement, List<TypeElement>> byStrategy = new TreeMap<>(BY_NAME);
+        for (TypeElement strategyAnno : collect(roundEnv, Strategy.class)) {
+            List<TypeElement> impls = new ArrayList<>();
+            for (Element impl : roundEnv.getElementsAnnotatedWith(strategyAnno)) {
+                if (impl instanceof TypeElement te) impls.add(te);
+            }
+            impls.sort(BY_NAME);
+            byStrategy.put(strategyAnno, Collections.unmodifiableList(impls));
+        }
+        this.strategies = Collections.unmodifiableMap(byStrategy);
+
+        // Resolve every element once: location, and the interface it binds to
+        for (Set<TypeElement> group : List.of(seeds, contracts, repos, anchored, services)) {
+            for (TypeElement te : group) locations.computeIfAbsent(te, LocationResolver::resolveLocation);
+        }
+        for (TypeElement te : services) interfaces.put(te, InterfaceSelector.selectBestInterface(te, env));
+        for (List<TypeElement> impls : strategies.values()) {
+            for (TypeElement te : impls) {
+                locations.computeIfAbsent(te, LocationResolver::resolveLocation);
+                interfaces.computeIfAbsent(te, t -> InterfaceSelector.selectBestInterface(t, env));
+            }
+        }
+
+        Map<String, TypeElement> seedMap = new HashMap<>();
+        for (TypeElement seed : seeds) {
+            Seed anno = seed.getAnnotation(Seed.class);
+            if (anno != null) seedMap.put(anno.value().toLowerCase(), seed);
+        }
+        this.anchorToSeed = Collections.unmodifiableMap(seedMap);
+
+        Map<String, TypeElement> byLocation = new LinkedHashMap<>();
+        for (TypeElement c : contracts) byLocation.putIfAbsent(location(c).toLowerCase(), c);
+        this.contractByLocation = Collections.unmodifiableMap(byLocation);
+
+        this.seedsByLocation = group(seeds);
+        this.reposByLocation = group(repos);
+        this.servicesByLocation = group(services);
+    }
+
+    /** Scans the round once. */
+    public static RoundModel build(RoundEnvironment roundEnv, ProcessingEnvironment env) {
+        return new RoundModel(roundEnv, env);
+    }
+
+    public Set<TypeElement> seeds() { return seeds; }
+    public Set<TypeElement> contracts() { return contracts; }
+    public Set<TypeElement> repositories() { return repos; }
+    /** @Transient, @Scoped, @Singleton, @AutoBuilder and @AutoFactory types, minus Blade contracts */
+    public Set<TypeElement> services() { return services; }
+    public Set<TypeElement> anchored() { return anchored; }
+    public Set<TypeElement> factories() { return factories; }
+    /** Each @Strategy annotation type with the classes annotated by it */
+    public Map<TypeElement, List<TypeElement>> strategies() { return strategies; }
+
+    /** Lowercase anchor name to its @Seed type */
+    public Map<String, TypeElement> anchorMap() { return anchorToSeed; }
+
+    public Map<String, List<TypeElement>> seedsByLocation() { return seedsByLocation; }
+    public Map<String, List<TypeElement>> reposByLocation() { return reposByLocation; }
+    public Map<String, List<TypeElement>> servicesByLocation() { return servicesByLocation; }
+
+    /** The @Blade contract owning a location (case-insensitive), or null */
+    public TypeElement contractFor(String location) {
+        return location == null ? null : contractByLocation.get(location.toLowerCase());
+    }
+
+    /** Lowercase anchors holding a repository that creates blades of the given anchor, i.e. its possible parents */
+    public Set<String> parentAnchors(String anchor) {
+        Set<String> parents = new TreeSet<>();
+        for (TypeElement repo : repos) {
+            Source source = repo.getAnnotation(Source.class);
+            String location = location(repo);
+            if (source != null && source.value().equalsIgnoreCase(anchor) && !"App".equalsIgnoreCase(location)) {
+                parents.add(location.toLowerCase());
+            }
+        }
+        return parents;
+    }
+
+    /**
+     * Lowercase anchor of every key of a multi-key lookup, root first. Walking up from the target anchor,
+     * each key must match the ID type of exactly one parent anchor; otherwise returns null.
+     */
+    public List<String> pathAnchors(String target, List<? extends VariableElement> keys, Types types) {
+        String[] anchors = new String[keys.size()];
+        String current = target.toLowerCase();
+        anchors[keys.size() - 1] = current;
+        for (int i = keys.size() - 2; i >= 0; i--) {
+            List<String> matches = new ArrayList<>();
+            for (String parent : parentAnchors(current)) {
+                TypeElement seed = anchorToSeed.get(parent);
+                if (seed != null && types.isSameType(keys.get(i).asType(), BindingUtils.resolveIdType(seed))) matches.add(parent);
+            }
+            if (matches.size() != 1) return null;
+            current = matches.get(0);
+            anchors[i] = current;
+        }
+        return List.of(anchors);
+    }
+
+    /** Same as {@link LocationResolver#resolveLocation}, resolved once per element */
+    public String location(TypeElement te) {
+        String loc = locations.get(te);
+        return loc != null ? loc : LocationResolver.resolveLocation(te);
+    }
+
+    /** Same as {@link BindingUtils#hasMirror}, backed by the element's cached annotation names */
+    public boolean has(TypeElement te, String fq) {
+        return annotationNames.computeIfAbsent(te, RoundModel::namesOf).contains(fq);
+    }
+
+    /** Same as {@link InterfaceSelector#selectBestInterface} for services and strategy implementations */
+    public TypeMirror bestInterface(TypeElement te, ProcessingEnvironment env) {
+        return interfaces.containsKey(te) ? interfaces.get(te) : InterfaceSelector.selectBestInterface(te, env);
+    }
+
+    /** True when the round holds no AutoBlade element at all, e.g. a round of Dagger's own output */
+    public boolean isEmpty() {
+        return seeds.isEmpty() && contracts.isEmpty() && repos.isEmpty() && services.isEmpty()
+                && anchored.isEmpty() && factories.isEmpty() && strategies.isEmpty();
+    }
+
+    private Map<String, List<TypeElement>> group(Set<TypeElement> types) {
+        Map<String, List<TypeElement>> map = new TreeMap<>();
+        for (TypeElement te : types) {
+            String loc = location(te);
+            String key = (loc == null || loc.isEmpty()) ? "App" : loc;
+            map.computeIfAbsent(key, k -> new ArrayList<>()).add(te);
+        }
+        map.replaceAll((k, v) -> Collections.unmodifiableList(v));
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static Set<String> namesOf(TypeElement te) {
+        Set<String> names = new HashSet<>();
+        for (AnnotationMirror m : te.getAnnotationMirrors()) {
+            if (m != null) names.add(((TypeElement) m.getAnnotationType().asElement()).getQualifiedName().toString());
+        }
+        return names;
+    }
+
+    @SafeVarargs
+    private static Set<TypeElement> collect(RoundEnvironment roundEnv, Class<? extends java.lang.annotation.Annotation>... annotations) {
+        List<TypeElement> sorted = new ArrayList<>(FileCollector.collectManaged(roundEnv, Arrays.asList(annotations)));
+        sorted.sort(BY_NAME);
+        return Collections.unmodifiableSet(new LinkedHashSet<>(sorted));
+    }
+}
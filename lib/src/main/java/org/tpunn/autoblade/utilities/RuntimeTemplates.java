@@ -0,0 +1,75 @@
+package org.tpunn.autoblade.utilities;
+
+import com.squareup.javapoet.ClassName;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Copies the runtime support classes (registry, caches, metrics) into one generated package.
+ * The package is fixed by the first element that needs a template, so every processor resolves
+ * the same classes no matter which package its own output lands in.
+ */
+public final class RuntimeTemplates {
+    /** Processor option; {@code false} compiles every BladeMetrics call and class out of the generated code. */
+    public static final String OPTION_METRICS = "autoblade.metrics";
+
+    private final ProcessingEnvironment env;
+    private final Set<String> copied = new HashSet<>();
+    private String runtimePackage;
+
+    public RuntimeTemplates(ProcessingEnvironment env) { this.env = env; }
+
+    public boolean metricsEnabled() {
+        return !"false".equalsIgnoreCase(env.getOptions().getOrDefault(OPTION_METRICS, "true").trim());
+    }
+
+    /** The runtime package, chosen from origin's package on first use. */
+    public String packageFor(TypeElement origin) {
+        if (runtimePackage == null) runtimePackage = GeneratedPackageResolver.getPackage(origin, env);
+        return runtimePackage;
+    }
+
+    /** A runtime class, copying its template on first use. */
+    public ClassName require(String name, TypeElement origin) {
+        return require(name, origin, Map.of());
+    }
+
+    /** A runtime class whose template has build-time constants marked as {@code /* $KEY$ *}{@code / default}. */
+    public ClassName require(String name, TypeElement origin, Map<String, String> values) {
+        String pkg = packageFor(origin);
+        if (copied.add(name)) copy(pkg, name, origin, values);
+        return ClassName.get(pkg, name);
+    }
+
+    private void copy(String targetPkg, String fileName, Element origin, Map<String, String> values) {
+        try {
+            var is = getClass().getResourceAsStream("/" + fileName + ".txt");
+            if (is == null) return;
+            String rawContent = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+
+            // Clean package declaration from template and apply targetPkg
+            String cleanContent = rawContent.replaceFirst("(?m)^package .*;\\s*", "");
+            // Fill build-time constants marked as /* $KEY$ */ default
+            for (Map.Entry<String, String> value : values.entrySet()) {
+                cleanContent = cleanContent.replaceAll(
+                        Pattern.quote("/* $" + value.getKey() + "$ */") + "\\s*[^;]+",
+                        Matcher.quoteReplacement(value.getValue()));
+            }
+            String finalContent = "package " + targetPkg + ";\n\n" + cleanContent;
+
+            var file = env.getFiler().createSourceFile(targetPkg + "." + fileName, origin);
+            try (var writer = file.openWriter()) {
+                writer.write(finalContent);
+            }
+        } catch (IOException ignored) {}
+    }
+}
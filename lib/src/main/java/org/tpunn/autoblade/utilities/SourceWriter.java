@@ -0,0 +1,116 @@
+package org.tpunn.autoblade.utilities;
+
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+
+import javax.annotation.processing.FilerException;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Collects the files sub-processors generate in a round, renders them to source text on a bounded
+ * pool, then hands them to the {@link javax.annotation.processing.Filer} one at a time, in the order
+ * they were added. Only rendering is concurrent; the Filer is never touched off the processor thread.
+ */
+public final class SourceWriter implements AutoCloseable {
+    /** Processor option bounding the rendering pool; defaults to the available cores, 1 renders inline. */
+    public static final String OPTION_RENDER_THREADS = "autoblade.render.threads";
+
+    private final ProcessingEnvironment env;
+    private final int threads;
+    private final List<JavaFile> pending = new ArrayList<>();
+    private ExecutorService pool;
+
+    public SourceWriter(ProcessingEnvironment env) {
+        this.env = env;
+        this.threads = resolveThreads(env.getOptions().get(OPTION_RENDER_THREADS));
+    }
+
+    /** Queues {@code spec} in {@code pkg}, without java.lang imports. */
+    public void add(String pkg, TypeSpec spec) {
+        add(JavaFile.builder(pkg, spec).skipJavaLangImports(true).build());
+    }
+
+    public void add(JavaFile file) {
+        pending.add(file);
+    }
+
+    /** Renders every queued file concurrently, then writes them in insertion order. */
+    public void flush() {
+        if (pending.isEmpty()) return;
+        List<JavaFile> files = new ArrayList<>(pending);
+        pending.clear();
+
+        List<String> sources = render(files);
+        for (int i = 0; i < files.size(); i++) {
+            write(files.get(i), sources.get(i));
+        }
+    }
+
+    private List<String> render(List<JavaFile> files) {
+        List<String> sources = new ArrayList<>(files.size());
+        if (threads <= 1 || files.size() < 2) {
+            for (JavaFile file : files) sources.add(file.toString());
+            return sources;
+        }
+
+        if (pool == null) {
+            pool = Executors.newFixedThreadPool(threads, task -> {
+                Thread t = new Thread(task, "autoblade-render");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        List<Future<String>> rendered = new ArrayList<>(files.size());
+        for (JavaFile file : files) rendered.add(pool.submit(file::toString));
+        try {
+            for (Future<String> source : rendered) sources.add(source.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rendering generated sources", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to render generated source", e.getCause());
+        }
+        return sources;
+    }
+
+    private void write(JavaFile file, String source) {
+        String name = file.packageName.isEmpty() ? file.typeSpec.name : file.packageName + "." + file.typeSpec.name;
+        try {
+            JavaFileObject out = env.getFiler().createSourceFile(name, file.typeSpec.originatingElements.toArray(new Element[0]));
+            try (Writer writer = out.openWriter()) {
+                writer.write(source);
+            }
+        } catch (FilerException ignored) {
+            // Already generated in an earlier round
+        } catch (IOException e) {
+            env.getMessager().printMessage(Diagnostic.Kind.WARNING, "AutoBlade: could not write " + name + ": " + e.getMessage());
+        }
+    }
+
+    private static int resolveThreads(String raw) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        if (raw == null || raw.isBlank()) return cores;
+        try {
+            return Math.max(1, Math.min(Integer.parseInt(raw.trim()), cores));
+        } catch (NumberFormatException e) {
+            return cores;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) pool.shutdown();
+        pool = null;
+    }
+}
@@ -1,15 +1,16 @@
 package org.tpunn.autoblade.validators;
 
+import com.squareup.javapoet.TypeName;
 import org.tpunn.autoblade.annotations.*;
 import org.tpunn.autoblade.utilities.BindingUtils;
-import org.tpunn.autoblade.utilities.InterfaceSelector;
-import org.tpunn.autoblade.utilities.LocationResolver;
+import org.tpunn.autoblade.utilities.RoundModel;
 
 import javax.annotation.processing.ProcessingEnvironment;
-import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 import javax.tools.Diagnostic;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -19,16 +20,15 @@ public class Validator {
 
     public Validator(ProcessingEnvironment env) { this.env = env; }
 
-    public void validate(RoundEnvironment roundEnv, Map<String, TypeElement> anchorMap) {
-        validateSeeds(roundEnv);
-        validateServices(roundEnv);
-        validateRepositories(roundEnv, anchorMap);
-        validateStrategies(roundEnv);
+    public void validate(RoundModel model) {
+        validateSeeds(model);
+        validateServices(model);
+        validateRepositories(model, model.anchorMap());
+        validateStrategies(model);
     }
 
-    private void validateSeeds(RoundEnvironment roundEnv) {
-        for (Element e : roundEnv.getElementsAnnotatedWith(Seed.class)) {
-            if (!(e instanceof TypeElement te)) continue;
+    private void validateSeeds(RoundModel model) {
+        for (TypeElement te : model.seeds()) {
 
             long idCount = (te.getKind() == ElementKind.RECORD) 
                 ? te.getRecordComponents().stream().filter(rc -> rc != null && rc.getAnnotation(Id.class) != null).count()
@@ -40,42 +40,184 @@ public class Validator {
         }
     }
 
-    private void validateServices(RoundEnvironment roundEnv) {
-        for (Element e : roundEnv.getElementsAnnotatedWith(Scoped.class)) {
-            if (e instanceof TypeElement te && te.getInterfaces().isEmpty()) {
+    private void validateServices(RoundModel model) {
+        for (TypeElement te : model.services()) {
+            if (model.has(te, Scoped.class.getName()) && te.getInterfaces().isEmpty()) {
                 error("Scoped class '" + te.getSimpleName() + "' must implement a business interface.", te);
             }
         }
     }
 
-    private void validateRepositories(RoundEnvironment roundEnv, Map<String, TypeElement> anchorMap) {
-        for (Element e : roundEnv.getElementsAnnotatedWith(Repository.class)) {
-            TypeElement repo = (TypeElement) e;
-            if (repo == null) continue;
-            String repoLoc = LocationResolver.resolveLocation(repo).toLowerCase();
+    private void validateRepositories(RoundModel model, Map<String, TypeElement> anchorMap) {
+        Set<String> ephemeralAnchors = ephemeralAnchors(model);
+        for (TypeElement repo : model.repositories()) {
+            String repoLoc = model.location(repo).toLowerCase();
+
+            Concurrent concurrency = repo.getAnnotation(Concurrent.class);
+            if (concurrency != null && concurrency.value() == Concurrent.Mode.STRIPED && concurrency.stripes() < 1) {
+                error("@Concurrent(STRIPED) on '" + repo.getSimpleName() + "' needs at least one stripe.", repo);
+            }
+            if (concurrency != null && concurrency.value() == Concurrent.Mode.CONFINED) {
+                for (ExecutableElement method : javax.lang.model.util.ElementFilter.methodsIn(repo.getEnclosedElements())) {
+                    if (method.getModifiers().contains(Modifier.ABSTRACT) && BindingUtils.isAsync(method)) {
+                        error("@Concurrent(CONFINED) repository '" + repo.getSimpleName() + "' cannot hand its cache to another thread; '"
+                                + method.getSimpleName() + "' must not return a CompletableFuture.", method);
+                    }
+                }
+            }
+            Repository limits = repo.getAnnotation(Repository.class);
+            if (concurrency != null && (limits.maximumSize() > 0 || limits.expireAfterAccess() > 0 || limits.expireAfterWrite() > 0)) {
+                error("Bounded repository '" + repo.getSimpleName() + "' always uses the thread-safe eviction cache; "
+                        + "remove @Concurrent or the size and expiry limits.", repo);
+            }
 
             for (Element enclosed : repo.getEnclosedElements()) {
                 if (!(enclosed instanceof ExecutableElement method)) continue;
 
                 boolean isCreate = BindingUtils.hasAnnotation(method, Create.class.getName());
                 boolean isLookup = BindingUtils.hasAnnotation(method, Lookup.class.getName());
-                if (!isCreate && !isLookup) continue;
+                boolean isRemove = BindingUtils.hasAnnotation(method, Remove.class.getName());
+                if (!isCreate && !isLookup && !isRemove) continue;
 
                 List<? extends VariableElement> params = method.getParameters();
+                if (isRemove && params.isEmpty()) {
+                    validateRelease(repo, method);
+                    continue;
+                }
+                if (isLookup && repo.getAnnotation(Repository.class).ephemeral() && usesRegistry(method)) {
+                    error("Ephemeral repository '" + repo.getSimpleName() + "' keeps blades out of the registry; '"
+                            + method.getSimpleName() + "' can only look up its own cache by ID.", method);
+                    continue;
+                }
+                if (isLookup && usesRegistry(method) && ephemeralAnchors.contains(targetAnchor(method))) {
+                    error("'" + method.getSimpleName() + "' searches the registry for " + BindingUtils.extractBladeType(method)
+                            + ", but an ephemeral repository creates those blades outside of it.", method);
+                    continue;
+                }
+                if (isLookup && params.isEmpty()) {
+                    validateTypeScan(method);
+                    continue;
+                }
+                if (isLookup && params.size() > 1) {
+                    validatePath(model, method, params, anchorMap);
+                    continue;
+                }
                 if (params.size() != 1) {
                     error("Method '" + method.getSimpleName() + "' must have exactly one parameter.", method);
                     continue;
                 }
 
+                if (!isRemove && BindingUtils.collectionElement(params.get(0).asType(), env) != null) {
+                    validateBulk(method, params.get(0), anchorMap, isCreate);
+                    continue;
+                }
+
+                if (isRemove) {
+                    validateRemove(repo, method, params.get(0), repoLoc, anchorMap);
+                    continue;
+                }
+
                 validateSignature(method, params.get(0), repoLoc, anchorMap, isCreate, isLookup);
+                if (isLookup && method.getAnnotation(Lookup.class).load()) {
+                    validateLoader(repo, method, anchorMap);
+                }
+            }
+        }
+    }
+
+    private void validateLoader(TypeElement repo, ExecutableElement lookup, Map<String, TypeElement> anchorMap) {
+        List<ExecutableElement> loaders = repo.getEnclosedElements().stream()
+                .filter(el -> el instanceof ExecutableElement && BindingUtils.hasAnnotation(el, Loader.class.getName()))
+                .map(el -> (ExecutableElement) el)
+                .toList();
+        if (loaders.size() != 1) {
+            error("@Lookup(load = true) '" + lookup.getSimpleName() + "' requires exactly one @Loader method in the repository.", lookup);
+            return;
+        }
+
+        ExecutableElement loader = loaders.get(0);
+        String targetAnchor = BindingUtils.parseAnchorFromBladeName(BindingUtils.extractBladeType(lookup)).toLowerCase();
+        TypeElement seed = anchorMap.get(targetAnchor);
+        if (seed == null) return;
+
+        if (loader.getModifiers().contains(Modifier.ABSTRACT)) {
+            error("@Loader '" + loader.getSimpleName() + "' must be implemented (default or concrete method).", loader);
+        }
+        var types = env.getTypeUtils();
+        if (loader.getParameters().size() != 1
+                || !types.isSameType(loader.getParameters().get(0).asType(), BindingUtils.resolveIdType(seed))
+                || !types.isSameType(loader.getReturnType(), seed.asType())) {
+            error(String.format("@Loader '%s' must take the ID [%s] and return the Seed [%s].",
+                    loader.getSimpleName(), BindingUtils.resolveIdType(seed), seed.asType()), loader);
+        }
+    }
+
+    private void validateRemove(TypeElement repo, ExecutableElement m, VariableElement p, String repoLoc,
+                                Map<String, TypeElement> anchorMap) {
+        var repoBlade = BindingUtils.parseBladeTypeFromRepo(repo);
+        if (repoBlade == null) {
+            error("@Remove '" + m.getSimpleName() + "' needs a @Create or @Lookup method to identify the blade type.", m);
+            return;
+        }
+
+        var returnType = TypeName.get(m.getReturnType());
+        boolean validReturn = returnType.equals(TypeName.VOID)
+                || returnType.box().equals(TypeName.BOOLEAN.box())
+                || returnType.equals(repoBlade)
+                || returnType.toString().equals("java.util.Optional<" + repoBlade + ">");
+        if (!validReturn) {
+            error("@Remove '" + m.getSimpleName() + "' must return void, boolean, the blade or an Optional of it.", m);
+            return;
+        }
+
+        validateSignature(m, repoBlade, p, repoLoc, anchorMap, false, false);
+    }
+
+    private void validateRelease(TypeElement repo, ExecutableElement m) {
+        if (BindingUtils.parseBladeTypeFromRepo(repo) == null) {
+            error("@Remove '" + m.getSimpleName() + "' needs a @Create or @Lookup method to identify the blade type.", m);
+            return;
+        }
+        var returnType = TypeName.get(m.getReturnType());
+        if (!returnType.equals(TypeName.VOID) && !returnType.equals(TypeName.INT)) {
+            error("Parameterless @Remove '" + m.getSimpleName() + "' must return void or int (the number of released blades).", m);
+        }
+    }
+
+    /** Anchors whose blades are created by an ephemeral repository, and so are invisible to registry searches. */
+    private Set<String> ephemeralAnchors(RoundModel model) {
+        Set<String> anchors = new HashSet<>();
+        for (TypeElement repo : model.repositories()) {
+            if (!repo.getAnnotation(Repository.class).ephemeral()) continue;
+            for (ExecutableElement method : javax.lang.model.util.ElementFilter.methodsIn(repo.getEnclosedElements())) {
+                if (BindingUtils.hasAnnotation(method, Create.class.getName())) anchors.add(targetAnchor(method));
             }
         }
+        return anchors;
+    }
+
+    private static String targetAnchor(ExecutableElement m) {
+        return BindingUtils.parseAnchorFromBladeName(BindingUtils.extractBladeType(m));
+    }
+
+    /** Deep, path and type-scan lookups read the global registry instead of the repository's own cache. */
+    private boolean usesRegistry(ExecutableElement m) {
+        if (m.getAnnotation(Lookup.class).load()) return false;
+        String returnType = BindingUtils.resultType(m).toString();
+        return m.getParameters().size() != 1
+                || returnType.startsWith("java.util.Optional")
+                || returnType.startsWith("java.util.Set")
+                || returnType.startsWith("java.util.List");
     }
 
     private void validateSignature(ExecutableElement m, VariableElement p, String repoLoc, 
                                    Map<String, TypeElement> anchorMap, boolean isCreate, boolean isLookup) {
-        
-        var targetBlade = BindingUtils.extractBladeType(m);
+        validateSignature(m, BindingUtils.extractBladeType(m), p, repoLoc, anchorMap, isCreate, isLookup);
+    }
+
+    private void validateSignature(ExecutableElement m, TypeName targetBlade, VariableElement p, String repoLoc,
+                                   Map<String, TypeElement> anchorMap, boolean isCreate, boolean isLookup) {
+
         String targetAnchor = BindingUtils.parseAnchorFromBladeName(targetBlade).toLowerCase();
         TypeElement seed = anchorMap.get(targetAnchor);
 
@@ -100,28 +242,137 @@ public class Validator {
         }
     }
 
-    private void validateStrategies(RoundEnvironment roundEnv) {
+    private void validateBulk(ExecutableElement m, VariableElement p, Map<String, TypeElement> anchorMap, boolean isCreate) {
+        String returnType = BindingUtils.resultType(m).toString();
+        if (isCreate && !returnType.startsWith("java.util.List")) {
+            error("Bulk @Create '" + m.getSimpleName() + "' must return a List of blades.", m);
+            return;
+        }
+        if (!isCreate && !returnType.startsWith("java.util.Map")) {
+            error("Bulk @Lookup '" + m.getSimpleName() + "' must return a Map of ID to blade.", m);
+            return;
+        }
+        if (!isCreate && m.getAnnotation(Lookup.class).load()) {
+            error("Bulk @Lookup '" + m.getSimpleName() + "' cannot use load = true.", m);
+        }
+
+        String targetAnchor = BindingUtils.parseAnchorFromBladeName(BindingUtils.extractBladeType(m)).toLowerCase();
+        TypeElement seed = anchorMap.get(targetAnchor);
+        if (seed == null) {
+            error("No @Seed found for anchor [" + targetAnchor + "].", m);
+            return;
+        }
+
+        TypeMirror element = BindingUtils.collectionElement(p.asType(), env);
+        TypeMirror expected = isCreate ? seed.asType() : BindingUtils.resolveIdType(seed);
+        if (!env.getTypeUtils().isSameType(element, expected)) {
+            error(String.format("Bulk %s expects a Collection of [%s].", isCreate ? "@Create" : "@Lookup", expected), p);
+        }
+        if (!isCreate && BindingUtils.resultType(m) instanceof DeclaredType map
+                && !env.getTypeUtils().isSameType(map.getTypeArguments().get(0), expected)) {
+            error(String.format("Bulk @Lookup '%s' must key its Map by the ID [%s].", m.getSimpleName(), expected), m);
+        }
+    }
+
+    private void validatePath(RoundModel model, ExecutableElement m, List<? extends VariableElement> params,
+                              Map<String, TypeElement> anchorMap) {
+        String returnType = BindingUtils.resultType(m).toString();
+        if (returnType.startsWith("java.util.Set") || returnType.startsWith("java.util.List")) {
+            error("Multi-key @Lookup '" + m.getSimpleName() + "' must return a single blade or Optional.", m);
+            return;
+        }
+
+        var targetBlade = BindingUtils.extractBladeType(m);
+        String targetAnchor = BindingUtils.parseAnchorFromBladeName(targetBlade).toLowerCase();
+        TypeElement seed = anchorMap.get(targetAnchor);
+        if (seed == null) {
+            error("No @Seed found for anchor [" + targetAnchor + "].", m);
+            return;
+        }
+
+        // Leaf must be the target blade's ID; every key before it must be some anchor's ID
+        VariableElement leaf = params.get(params.size() - 1);
+        TypeMirror leafId = BindingUtils.resolveIdType(seed);
+        if (!env.getTypeUtils().isSameType(leaf.asType(), leafId)) {
+            error(String.format("Last key of a multi-key @Lookup must be the ID [%s].", leafId), leaf);
+        }
+        boolean keysMatch = true;
+        for (VariableElement p : params.subList(0, params.size() - 1)) {
+            boolean isAnchorId = anchorMap.values().stream()
+                    .anyMatch(s -> env.getTypeUtils().isSameType(p.asType(), BindingUtils.resolveIdType(s)));
+            if (!isAnchorId) {
+                error("Key '" + p.getSimpleName() + "' does not match the ID type of any @Seed.", p);
+                keysMatch = false;
+            }
+        }
+        // The registry links parents by blade type and ID, so every key must name one anchor
+        if (keysMatch && model.pathAnchors(targetAnchor, params, env.getTypeUtils()) == null) {
+            error(String.format("Keys of multi-key @Lookup '%s' must each match the ID type of exactly one parent anchor, "
+                    + "walking up from [%s].", m.getSimpleName(), targetAnchor), m);
+        }
+    }
+
+    private void validateTypeScan(ExecutableElement m) {
+        String returnType = BindingUtils.resultType(m).toString();
+        if (!returnType.startsWith("java.util.Set") && !returnType.startsWith("java.util.List")) {
+            error("Parameterless @Lookup '" + m.getSimpleName() + "' must return a Set or List of blades.", m);
+        }
+    }
+
+    /** The resolver dispatches through an ordinal-indexed table, so every constant needs an implementation. */
+    private void validateEnumCoverage(TypeElement strategyAnno, Element enumType, List<TypeElement> impls) {
+        if (impls.isEmpty()) return;
+        Set<String> missing = new java.util.TreeSet<>();
+        for (Element constant : enumType.getEnclosedElements()) {
+            if (constant.getKind() == ElementKind.ENUM_CONSTANT) missing.add(constant.getSimpleName().toString());
+        }
+        for (TypeElement impl : impls) {
+            for (AnnotationMirror mirror : impl.getAnnotationMirrors()) {
+                if (!mirror.getAnnotationType().asElement().equals(strategyAnno)) continue;
+                for (AnnotationValue value : mirror.getElementValues().values()) {
+                    if (value.getValue() instanceof VariableElement constant) missing.remove(constant.getSimpleName().toString());
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            error("Strategy '" + strategyAnno.getSimpleName() + "' has no implementation for " + enumType.getSimpleName()
+                    + " " + missing + ".", strategyAnno);
+        }
+    }
+
+    private void validateStrategies(RoundModel model) {
+        for (TypeElement strategyAnno : model.strategies().keySet()) {
+            java.lang.annotation.Retention retention = strategyAnno.getAnnotation(java.lang.annotation.Retention.class);
+            if (retention != null && retention.value() == java.lang.annotation.RetentionPolicy.SOURCE) {
+                error("Strategy '" + strategyAnno.getSimpleName() + "' needs CLASS retention; incremental builds only see "
+                        + "implementations whose annotation survives into the class file.", strategyAnno);
+            }
+            for (ExecutableElement value : javax.lang.model.util.ElementFilter.methodsIn(strategyAnno.getEnclosedElements())) {
+                if (!value.getSimpleName().contentEquals("value")) continue;
+                TypeMirror key = value.getReturnType();
+                boolean isEnum = key instanceof DeclaredType dt && dt.asElement().getKind() == ElementKind.ENUM;
+                if (!isEnum && !key.toString().equals(String.class.getName())) {
+                    error("Strategy '" + strategyAnno.getSimpleName() + "' must declare an enum or String value().", value);
+                }
+                if (isEnum) validateEnumCoverage(strategyAnno, ((DeclaredType) key).asElement(), model.strategies().get(strategyAnno));
+            }
+        }
+
         // Map<InterfaceQualifiedName, FirstFoundAnchorName>
         Map<String, String> interfaceToAnchor = new java.util.HashMap<>();
 
         // We scan for all classes that are implementations of a Strategy
         // TODO: Implement "all or nothing" validation for strategy factory/builder (so mix/match)
         // TODO: Implement a consistent parameter set for all factories/builders under a strategy
-        for (Element e : roundEnv.getElementsAnnotatedWithAny(Set.of(Scoped.class, Transient.class))) {
-            if (!(e instanceof TypeElement te)) continue;
-
-            // Check if this specific class is marked with a @Strategy meta-annotation
-            boolean isStrategy = te.getAnnotationMirrors().stream()
-                .anyMatch(m -> m != null && m.getAnnotationType().asElement().getAnnotation(Strategy.class) != null);
-
-            if (!isStrategy) continue;
+        for (TypeElement te : model.strategies().values().stream().flatMap(List::stream).toList()) {
+            if (!model.has(te, Scoped.class.getName()) && !model.has(te, Transient.class.getName())) continue;
 
             // Determine the business interface and the current anchor
-            TypeMirror businessIface = InterfaceSelector.selectBestInterface(te, env);
+            TypeMirror businessIface = model.bestInterface(te, env);
             if (businessIface == null) continue;
 
             String ifaceName = businessIface.toString();
-            String currentAnchor = LocationResolver.resolveLocation(te);
+            String currentAnchor = model.location(te);
 
             if (interfaceToAnchor.containsKey(ifaceName)) {
                 String existingAnchor = interfaceToAnchor.get(ifaceName);
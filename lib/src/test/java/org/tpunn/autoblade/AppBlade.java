@@ -3,10 +3,18 @@ package org.tpunn.autoblade;
 import org.tpunn.autoblade.annotations.Blade;
 import org.tpunn.autoblade.legacy.LegacyClient;
 import org.tpunn.autoblade.legacy.LegacyModule;
+import org.tpunn.autoblade.repos.LeagueRepository;
+import org.tpunn.autoblade.repos.MatchRepository;
+import org.tpunn.autoblade.repos.SeasonRepository;
 import org.tpunn.autoblade.repos.TeamRepository;
+import org.tpunn.autoblade.repos.VenueRepository;
 
 @Blade(modules = {LegacyModule.class})
 public interface AppBlade {
     TeamRepository teams();
+    SeasonRepository seasons();
+    MatchRepository matches();
+    VenueRepository venues();
+    LeagueRepository leagues();
     LegacyClient legacy();
 }
\ No newline at end of file
@@ -1,9 +1,19 @@
 package org.tpunn.autoblade;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.junit.After;
@@ -11,13 +21,22 @@ import org.junit.Before;
 import org.junit.Test;
 import org.tpunn.autoblade.actions.ActionType;
 import org.tpunn.autoblade.badges.PlayerBadge;
+import org.tpunn.autoblade.badges.PlayerBadgeBuilder;
 import org.tpunn.autoblade.messages.MessageType;
+import org.tpunn.autoblade.repos.BladeMetrics;
+import org.tpunn.autoblade.repos.MatchRepository;
+import org.tpunn.autoblade.repos.StripedMap;
 import org.tpunn.autoblade.scores.ScoreManager;
 
 public class BasicTest {
     private String lastLine;
     private final PrintStream originalOut = System.out;
 
+    private AppBlade app;
+    private TeamBlade team;
+    private UUID id;
+    private PlayerBlade player;
+
     @Before
     public void setUp() {
         System.setOut(new PrintStream(new ByteArrayOutputStream()) {
@@ -27,6 +46,12 @@ public class BasicTest {
                 originalOut.println(s); // Optional: still print to real console
             }
         });
+
+        app = AutoBladeApp.start();
+        app.teams().create(new TeamData("team1", "Cool Team"));
+        team = app.teams().get("team1");
+        id = UUID.randomUUID();
+        player = team.players().create(new PlayerData(id, "Tony"));
     }
 
     @After
@@ -34,40 +59,112 @@ public class BasicTest {
         System.setOut(originalOut);
     }
 
-    @Test
-    public void test() {
-        AppBlade app = AutoBladeApp.start();
+    /** Runs the action on a fresh thread and returns what it threw, or null. */
+    private static Throwable onOtherThread(Runnable action) throws InterruptedException {
+        Throwable[] thrown = new Throwable[1];
+        Thread thread = new Thread(() -> {
+            try {
+                action.run();
+            } catch (Throwable t) {
+                thrown[0] = t;
+            }
+        }, "intruder");
+        thread.start();
+        thread.join();
+        return thrown[0];
+    }
 
-        app.teams().create(new TeamData("team1", "Cool Team"));
-        TeamBlade team = app.teams().get("team1");
-        UUID id = UUID.randomUUID();
-        PlayerBlade player = team.players().create(new PlayerData(id, "Tony"));
+    @Test
+    public void scopedServiceKeepsState() {
         ScoreManager score = player.score();
         score.set(10);
         score.add(5);
-
         assertEquals(15, player.score().get());
+    }
 
-        // Deep searching
+    @Test
+    public void deepSearchFindsPlayerAcrossTeams() {
         app.teams().findPlayer(id).ifPresent(p -> p.score().add(2));
-        assertEquals(17, player.score().get());
+        assertEquals(2, player.score().get());
+    }
 
-        // Custom searching
+    @Test
+    public void typeScanListsEveryPlayer() {
+        assertEquals(1, app.teams().allPlayers().size());
+    }
+
+    @Test
+    public void pathLookupWalksTeamToPlayer() {
         app.teams().findPlayerInTeam("team1", id).score().add(2);
-        assertEquals(19, player.score().get());
+        assertEquals(2, player.score().get());
+    }
 
-        // Test legacy
+    @Test
+    public void legacyModuleIsInstalled() {
         assertEquals("https://legacy-api.com", app.legacy().getUrl());
+    }
 
-        // Test factory
+    @Test
+    public void factoryCreatesWithAssistedValue() {
         PlayerBadge badge = player.badgeFactory().create("MVP");
         assertEquals("MVP for Tony", badge.getName());
+    }
 
-        // Test builder
-        PlayerBadge badge2 = player.badgeBuilder().name("All-Star").build();
-        assertEquals("All-Star for Tony", badge2.getName());
+    @Test
+    public void builderBuildsWithAssistedValue() {
+        PlayerBadge badge = player.badgeBuilder().name("All-Star").build();
+        assertEquals("All-Star for Tony", badge.getName());
+    }
+
+    @Test
+    public void localBuilderReturnsToThePoolOnBuild() {
+        PlayerBadgeBuilder builder = player.badgeBuilder();
+        PlayerBadgeBuilder local = builder.local();
+        assertEquals("Rookie for Tony", local.name("Rookie").build().getName());
+        PlayerBadgeBuilder again = builder.local();
+        assertSame(local, again);
+        assertEquals("null for Tony", again.build().getName());
+        assertThrows(IllegalStateException.class, again::build);
+        // A direct overload with no builder state
+        assertEquals("Captain for Tony", builder.build("Captain").getName());
+    }
+
+    @Test
+    public void nestedLocalBuildersKeepTheirOwnState() {
+        PlayerBadgeBuilder outer = player.badgeBuilder().local().name("Outer");
+        PlayerBadgeBuilder inner = player.badgeBuilder().local().name("Inner");
+        assertNotSame(outer, inner);
+        assertEquals("Inner for Tony", inner.build().getName());
+        assertEquals("Outer for Tony", outer.build().getName());
+    }
+
+    @Test
+    public void injectedReusableBuildersAreNotShared() {
+        PlayerBadgeBuilder first = player.badgeBuilder().name("All-Star");
+        assertNotSame(first, player.badgeBuilder());
+        assertEquals("null for Tony", player.badgeBuilder().build().getName());
+        assertEquals("All-Star for Tony", first.build().getName());
+    }
+
+    @Test
+    public void localBuildersDoNotPinADiscardedComponent() {
+        WeakReference<AppBlade> discarded = buildBadgesInDiscardedApp();
+        for (int i = 0; i < 50 && discarded.get() != null; i++) System.gc();
+        assertNull("the pooled builders kept the component alive", discarded.get());
+    }
+
+    private static WeakReference<AppBlade> buildBadgesInDiscardedApp() {
+        AppBlade other = AutoBladeApp.start();
+        PlayerBlade rookie = other.teams().create(new TeamData("discarded", "Gone"))
+                .players().create(new PlayerData(UUID.randomUUID(), "Sam"));
+        PlayerBadgeBuilder outer = rookie.badgeBuilder().local().name("Outer");
+        assertEquals("Inner for Sam", rookie.badgeBuilder().local().name("Inner").build().getName());
+        assertEquals("Outer for Sam", outer.build().getName());
+        return new WeakReference<>(other);
+    }
 
-        // Test strategy
+    @Test
+    public void enumStrategiesDispatchToScopedImplementations() {
         player.actions().resolve(ActionType.JUMP).act();
         assertEquals("Jumping for Tony! Jump count: 1", lastLine);
         player.actions().resolve(ActionType.JUMP).act();
@@ -79,8 +176,136 @@ public class BasicTest {
         assertEquals("Sitting for Tony! Sitting: true", lastLine);
         player.actions().resolve(ActionType.SIT).act();
         assertEquals("Sitting for Tony! Sitting: false", lastLine);
+    }
 
+    @Test
+    public void factoryStrategyCreatesProducts() {
         player.messages().resolve(MessageType.EMAIL).create("Hello Tony!").send();
         assertEquals("Sending email... Hello Tony! to Tony of team Cool Team", lastLine);
+        // Factories are memoized like scoped kinds
+        assertSame(player.messages().resolve(MessageType.EMAIL), player.messages().resolve(MessageType.EMAIL));
+    }
+
+    @Test
+    public void stringStrategiesMemoizeScopedKeysOnly() {
+        assertEquals("Tony waves", player.emotes().resolve("wave").perform());
+        assertSame(player.emotes().resolve("wave"), player.emotes().resolve("wave"));
+        assertEquals("Tony bows", player.emotes().resolve("bow").perform());
+        // Transient kinds get a fresh instance per resolve
+        assertNotSame(player.emotes().resolve("bow"), player.emotes().resolve("bow"));
+        assertNull(player.emotes().resolveOrNull("dance"));
+    }
+
+    @Test
+    public void loaderFillsMisses() {
+        TeamBlade stored = app.teams().load("stored-1");
+        assertEquals(stored, app.teams().load("stored-1"));
+        assertEquals(stored, app.teams().get("stored-1"));
+        assertNull(app.teams().load("missing"));
+    }
+
+    @Test
+    public void readMostlyRepositoryCreatesAndLooksUp() {
+        SeasonBlade season = app.seasons().create(new SeasonData("s-2026", 2026));
+        assertSame(season, app.seasons().get("s-2026"));
+        assertEquals(2026, season.data().year());
+        assertNull(app.seasons().get("s-2025"));
+    }
+
+    @Test
+    public void synchronizedRepositoryCreatesLooksUpAndRemoves() {
+        LeagueBlade league = app.leagues().create(new LeagueData("l-1", "Premier"));
+        assertSame(league, app.leagues().get("l-1"));
+        assertTrue(app.leagues().remove("l-1"));
+        assertNull(app.leagues().get("l-1"));
+    }
+
+    @Test
+    public void stripedRepositoryCreatesLooksUpAndRemoves() {
+        VenueBlade venue = app.venues().create(new VenueData("v-1", "Oslo"));
+        assertSame(venue, app.venues().get("v-1"));
+        assertEquals("Oslo", venue.data().city());
+        assertTrue(app.venues().remove("v-1"));
+        assertNull(app.venues().get("v-1"));
+
+        StripedMap<String, String> map = new StripedMap<>(4);
+        assertNull(map.get(null));
+        assertNull(map.replace(null, "a"));
+        assertFalse(map.replace(null, "a", "b"));
+        assertThrows(NullPointerException.class, () -> map.putIfAbsent(null, "a"));
+        assertThrows(NullPointerException.class, () -> map.replace("k", null));
+    }
+
+    @Test
+    public void confinedRepositoryBelongsToItsFirstThread() throws InterruptedException {
+        MatchBlade match = app.matches().create(new MatchData("m-1", 1));
+        assertSame(match, app.matches().get("m-1"));
+
+        Throwable misuse = onOtherThread(() -> app.matches().get("m-1"));
+        assertTrue(String.valueOf(misuse), misuse instanceof AssertionError);
+        assertTrue(misuse.getMessage(), misuse.getMessage().contains("owned by " + Thread.currentThread().getName()));
+        assertSame(match, app.matches().get("m-1"));
+    }
+
+    @Test
+    public void confinedRepositoryIsClaimedByTheFirstToucher() throws InterruptedException {
+        MatchRepository matches = AutoBladeApp.start().matches();
+        assertNull(onOtherThread(() -> matches.create(new MatchData("m-1", 1))));
+        assertThrows(AssertionError.class, () -> matches.get("m-1"));
+    }
+
+    @Test
+    public void asyncCreateRegistersTheBlade() {
+        TeamBlade async = app.teams().createAsync(new TeamData("team2", "Async Team")).join();
+        assertEquals(async, app.teams().get("team2"));
+    }
+
+    @Test
+    public void removeDropsBladeEverywhere() {
+        assertTrue(team.players().remove(id));
+        assertNull(team.players().get(id));
+        assertFalse(app.teams().findPlayer(id).isPresent());
+        assertFalse(team.players().remove(id));
+    }
+
+    @Test
+    public void bulkCreateLookupAndRelease() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        List<PlayerBlade> squad = team.players().createAll(List.of(new PlayerData(first, "Ana"), new PlayerData(second, "Bo")));
+        assertEquals(squad.get(0), team.players().get(first));
+        assertEquals(3, team.players().getAll(List.of(first, second, id)).size());
+
+        assertEquals(3, team.players().releaseAll());
+        assertNull(team.players().get(first));
+        assertFalse(app.teams().findPlayer(second).isPresent());
+    }
+
+    @Test
+    public void metricsCountCreatesAndResolves() {
+        team.players().create(new PlayerData(UUID.randomUUID(), "Ana"));
+        for (int i = 0; i < 5; i++) player.actions().resolve(ActionType.SIT);
+        Map<String, Long> metrics = BladeMetrics.snapshot();
+        assertTrue(metrics.get("repo.Player.creates") >= 2);
+        assertTrue(metrics.get("strategy.ActionStrategy.resolves") >= 5);
+    }
+
+    @Test
+    public void bulkLookupCountsHitsAndMisses() {
+        Map<String, Long> before = BladeMetrics.snapshot();
+        assertEquals(1, team.players().getAll(List.of(id, UUID.randomUUID())).size());
+        Map<String, Long> after = BladeMetrics.snapshot();
+        assertTrue(after.get("repo.Player.hits") - before.get("repo.Player.hits") >= 1);
+        assertTrue(after.get("repo.Player.misses") - before.get("repo.Player.misses") >= 1);
+    }
+
+    @Test
+    public void registryGaugesSumOverLiveRegistries() {
+        // The last registry built would report only its own single team
+        AppBlade other = AutoBladeApp.start();
+        other.teams().create(new TeamData("metrics-1", "Other Team"));
+        assertTrue(BladeMetrics.snapshot().get("registry.size") >= 3);
+        Reference.reachabilityFence(app);
+        Reference.reachabilityFence(other);
     }
 }
@@ -0,0 +1,93 @@
+package org.tpunn.autoblade;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.tpunn.autoblade.repos.BladeCache;
+import org.tpunn.autoblade.repos.RepoOps;
+
+/** The bounded repository cache: W-TinyLFU admission, both expiry modes and batch publishing. */
+public class BladeCacheTest {
+    private static final long TTL = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final List<String> evicted = new ArrayList<>();
+
+    @Test
+    public void hotCandidateIsAdmittedOverColdVictim() {
+        BladeCache<String, String> cache = new BladeCache<>(10, 0, 0, (k, v) -> evicted.add(k));
+        for (int i = 0; i < 10; i++) cache.put("cold" + i, "cold" + i);
+
+        // Requested while still in the window, so it outranks every probation blade
+        cache.put("hot", "hot");
+        for (int i = 0; i < 5; i++) cache.get("hot");
+        cache.put("next", "next");
+        assertNotNull(cache.get("hot"));
+
+        // A one-off newcomer is no more popular than its victim and is rejected instead
+        cache.put("last", "last");
+        assertNull(cache.get("next"));
+        assertTrue(evicted.toString(), evicted.contains("next"));
+        assertEquals(10, cache.size());
+    }
+
+    @Test
+    public void expireAfterAccessIsRefreshedByReads() throws InterruptedException {
+        BladeCache<String, String> cache = new BladeCache<>(0, TTL, 0, (k, v) -> evicted.add(k));
+        cache.put("read", "read");
+        cache.put("idle", "idle");
+        for (int i = 0; i < 3; i++) {
+            Thread.sleep(100);
+            assertNotNull(cache.get("read"));
+        }
+        assertNull(cache.get("idle"));
+        assertEquals(List.of("idle"), evicted);
+    }
+
+    @Test
+    public void expireAfterWriteIgnoresReads() throws InterruptedException {
+        BladeCache<String, String> cache = new BladeCache<>(0, 0, TTL, (k, v) -> evicted.add(k));
+        cache.put("a", "a");
+        Thread.sleep(100);
+        assertNotNull(cache.get("a"));
+        Thread.sleep(150);
+        assertNull(cache.get("a"));
+        assertEquals(List.of("a"), evicted);
+    }
+
+    @Test
+    public void expungeRemovesEveryExpiredBlade() throws InterruptedException {
+        BladeCache<String, String> cache = new BladeCache<>(0, TTL, 0, (k, v) -> evicted.add(k));
+        for (String key : List.of("a", "b", "c")) cache.put(key, key);
+        Thread.sleep(250);
+        assertEquals(3, cache.expungeExpiredEntries());
+        assertEquals(0, cache.size());
+        assertEquals(List.of("a", "b", "c"), evicted);
+    }
+
+    @Test
+    public void batchLargerThanMaximumSizeIsReturnedWithoutEvictionCallbacks() {
+        BladeCache<Object, Object> cache = new BladeCache<>(5, 0, 0, (k, v) -> evicted.add((String) k));
+        cache.put("old", "old");
+        List<String> seeds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) seeds.add("new" + i);
+
+        List<String> created = new ArrayList<>();
+        List<String> blades = RepoOps.createAll(cache, new ConcurrentHashMap<>(), seeds, seed -> seed,
+                seed -> { String blade = new String(seed); created.add(blade); return blade; }, (ids, batch) -> {});
+
+        assertEquals(20, blades.size());
+        for (int i = 0; i < 20; i++) assertSame(created.get(i), blades.get(i));
+        assertTrue(cache.size() <= 5);
+        // Only blades cached before the batch may be reported; the batch's own are still being returned
+        assertTrue(evicted.toString(), evicted.stream().allMatch("old"::equals));
+    }
+}
@@ -0,0 +1,87 @@
+package org.tpunn.autoblade;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/** Flight Recorder events of a real recording, read back from disk the way JMC would. */
+public class BladeEventsTest {
+    private static final List<String> EVENTS = List.of("BladeCreated", "BladeLookup", "BladeBulkLookup",
+            "BladeRemoved", "RegistryDeepSearch", "StrategyResolved");
+
+    @Test
+    public void enabledRecordingCapturesEveryEventType() throws IOException {
+        List<RecordedEvent> events = record(() -> {
+            AppBlade app = AutoBladeApp.start();
+            TeamBlade team = app.teams().create(new TeamData("jfr-team", "Recorded Team"));
+            UUID id = UUID.randomUUID();
+            PlayerBlade player = team.players().create(new PlayerData(id, "Ivy"));
+            team.players().get(id);
+            team.players().getAll(List.of(id, UUID.randomUUID()));
+            app.teams().findPlayer(id);
+            player.emotes().resolve("wave");
+            team.players().remove(id);
+        });
+        for (String name : EVENTS) {
+            assertTrue(name + " missing", events.stream().anyMatch(e -> e.getEventType().getName().equals("org.tpunn.autoblade." + name)));
+        }
+
+        RecordedEvent bulk = only(events, "BladeBulkLookup");
+        assertEquals("Player", bulk.getString("anchor"));
+        assertEquals(2, bulk.getInt("requested"));
+        assertEquals(1, bulk.getInt("found"));
+    }
+
+    @Test
+    public void unknownStrategyKeyRecordsNoResolution() throws IOException {
+        List<RecordedEvent> events = record(() -> {
+            PlayerBlade player = AutoBladeApp.start().teams().create(new TeamData("jfr-keys", "Keys"))
+                    .players().create(new PlayerData(UUID.randomUUID(), "Max"));
+            player.emotes().resolve("bow");
+            assertThrows(IllegalArgumentException.class, () -> player.emotes().resolve("dance"));
+            assertNull(player.emotes().resolveOrNull("dance"));
+        });
+        List<String> keys = events.stream()
+                .filter(e -> e.getEventType().getName().equals("org.tpunn.autoblade.StrategyResolved"))
+                .filter(e -> e.getString("strategy").equals("EmoteStrategy"))
+                .map(e -> e.getString("key"))
+                .collect(Collectors.toList());
+        assertEquals(List.of("bow"), keys);
+    }
+
+    private static List<RecordedEvent> record(Runnable workload) throws IOException {
+        Path file = Files.createTempFile("autoblade", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : EVENTS) recording.enable("org.tpunn.autoblade." + name);
+            recording.start();
+            workload.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(e -> e.getEventType().getName().equals("org.tpunn.autoblade." + name))
+                .collect(Collectors.toList());
+        assertEquals(1, matching.size());
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,97 @@
+package org.tpunn.autoblade;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+
+import org.junit.Test;
+import org.tpunn.autoblade.repos.BladeRegistry;
+
+/** The registry's weak references: collected blades leave every index through the ReferenceQueue. */
+public class BladeRegistryTest {
+
+    @Test
+    public void collectedBladeIsReclaimed() {
+        BladeRegistry registry = new BladeRegistry();
+        Object blade = new Object();
+        WeakReference<Object> ref = new WeakReference<>(blade);
+        registry.register("a", blade, null, null, Object.class);
+        assertTrue(registry.find("a").isPresent());
+
+        blade = null;
+        awaitCollection(ref, registry, 1);
+
+        assertFalse(registry.find("a").isPresent());
+        assertTrue(registry.findAll("a", Object.class).isEmpty());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void collectedParentLeavesTypeIndexButKeepsChildren() {
+        BladeRegistry registry = new BladeRegistry();
+        Object parent = new Object();
+        String child = "child";
+        WeakReference<Object> ref = new WeakReference<>(parent);
+        registry.register("p", parent, null, null, Object.class);
+        registry.register("c", child, Object.class, "p", String.class);
+
+        parent = null;
+        long before = registry.reclaimedCount();
+        for (int i = 0; i < 50 && ref.get() != null; i++) System.gc();
+        assertTrue("parent was never collected", ref.get() == null);
+        registry.expungeStaleEntries();
+
+        // The parent node stays as the child's anchor point, but is no longer a live Object blade
+        assertEquals(before, registry.reclaimedCount());
+        assertTrue(registry.findAll("p", Object.class).isEmpty());
+        assertTrue(registry.all(Object.class).isEmpty());
+        assertEquals(child, registry.findInParent(Object.class, "p", "c", String.class).orElseThrow());
+    }
+
+    @Test
+    public void parentsSharingAnIdKeepTheirOwnChildren() {
+        BladeRegistry registry = new BladeRegistry();
+        Team team = new Team();
+        Player player = new Player();
+        registry.register(42, team, null, null, Team.class);
+        registry.register("squad", "team child", Team.class, 42, String.class);
+        // A later blade of another anchor with the same ID must not take over the team's links
+        registry.register(42, player, null, null, Player.class);
+        registry.register("squad", "player child", Player.class, 42, String.class);
+
+        assertEquals("team child", registry.findInParent(Team.class, 42, "squad", String.class).orElseThrow());
+        assertEquals("player child", registry.findInParent(Player.class, 42, "squad", String.class).orElseThrow());
+        assertEquals("team child", registry.findPath(String.class, new Class<?>[] {Team.class}, 42, "squad").orElseThrow());
+        assertTrue(registry.unregister(42, player, Player.class));
+        assertEquals("team child", registry.findInParent(Team.class, 42, "squad", String.class).orElseThrow());
+        assertFalse(registry.findInParent(Player.class, 42, "squad", String.class).isPresent());
+    }
+
+    @Test
+    public void childRegisteredBeforeItsParentIsAdoptedByTheTypedStub() {
+        BladeRegistry registry = new BladeRegistry();
+        Team team = new Team();
+        Player player = new Player();
+        registry.register("p1", player, Team.class, "t1", Player.class);
+        registry.register("t1", team, null, null, Team.class);
+        assertEquals(player, registry.findPath(Player.class, new Class<?>[] {Team.class}, "t1", "p1").orElseThrow());
+        assertEquals(2, registry.size());
+    }
+
+    private static final class Team {}
+
+    private static final class Player {}
+
+    /** Runs GC until the blade is collected and the registry has reclaimed the expected number of nodes. */
+    private static void awaitCollection(WeakReference<Object> ref, BladeRegistry registry, long reclaimed) {
+        long before = registry.reclaimedCount();
+        for (int i = 0; i < 50 && registry.reclaimedCount() - before < reclaimed; i++) {
+            System.gc();
+            registry.expungeStaleEntries();
+        }
+        assertTrue("blade was never collected", ref.get() == null);
+        assertEquals(reclaimed, registry.reclaimedCount() - before);
+    }
+}
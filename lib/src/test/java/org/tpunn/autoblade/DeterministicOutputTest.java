@@ -0,0 +1,49 @@
+package org.tpunn.autoblade;
+
+import static com.google.testing.compile.Compiler.javac;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.tools.JavaFileObject;
+
+import org.junit.Test;
+
+import com.google.testing.compile.Compilation;
+
+public class DeterministicOutputTest {
+
+    @Test
+    public void identicalInputGeneratesIdenticalSources() throws IOException {
+        List<JavaFileObject> sources = ProcessorScalabilityTest.generate(4, 3);
+        List<JavaFileObject> reversed = new ArrayList<>(sources);
+        // Different input order changes the round environment's iteration order, not the output
+        Collections.reverse(reversed);
+
+        Map<String, String> first = generated(sources);
+        Map<String, String> second = generated(reversed);
+
+        assertEquals(first.keySet(), second.keySet());
+        for (Map.Entry<String, String> file : first.entrySet()) {
+            assertEquals(file.getKey(), file.getValue(), second.get(file.getKey()));
+        }
+    }
+
+    private static Map<String, String> generated(List<JavaFileObject> sources) throws IOException {
+        Compilation compilation = javac()
+                .withProcessors(new AutoBladeProcessor(), new dagger.internal.codegen.ComponentProcessor())
+                .compile(sources);
+        assertEquals(compilation.diagnostics().toString(), Compilation.Status.SUCCESS, compilation.status());
+
+        Map<String, String> files = new TreeMap<>();
+        for (JavaFileObject file : compilation.generatedSourceFiles()) {
+            files.put(file.toUri().getPath(), file.getCharContent(true).toString());
+        }
+        return files;
+    }
+}
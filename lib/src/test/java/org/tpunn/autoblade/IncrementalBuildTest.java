@@ -0,0 +1,91 @@
+package org.tpunn.autoblade;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Test;
+
+import com.google.testing.compile.JavaFileObjects;
+
+/**
+ * Replays a Gradle incremental rebuild: one strategy implementation changes, and the unchanged
+ * strategy annotation and sibling implementation only reach the processor as class files.
+ */
+public class IncrementalBuildTest {
+    private static final String PKG = "incremental";
+
+    @Test
+    public void unchangedStrategyImplementationsSurviveRebuild() throws IOException {
+        Path root = Files.createTempDirectory("autoblade-incremental");
+        Path previous = Files.createDirectories(root.resolve("previous"));
+        Path classes = Files.createDirectories(root.resolve("classes"));
+        Path generated = Files.createDirectories(root.resolve("generated"));
+
+        // Full build output of the types that did not change
+        Map<String, List<String>> unchanged = new LinkedHashMap<>();
+        unchanged.put("GreetingStrategy", List.of("org.tpunn.autoblade.annotations.Strategy"));
+        unchanged.put("Greeting", List.of());
+        unchanged.put("Yo", List.of(PKG + ".GreetingStrategy", "org.tpunn.autoblade.annotations.Transient"));
+        compile(List.of(
+                source("GreetingStrategy", "@Strategy @Target(ElementType.TYPE) @Retention(RetentionPolicy.CLASS)\n"
+                        + "public @interface GreetingStrategy { String value(); }"),
+                source("Greeting", "public interface Greeting { String greet(); }"),
+                source("Yo", "@GreetingStrategy(\"yo\") @Transient public class Yo implements Greeting {\n"
+                        + "  @Inject public Yo() {}\n"
+                        + "  @Override public String greet() { return \"yo\"; }\n}")),
+                List.of("-proc:none", "-d", previous.toString()), List.of());
+
+        // The rebuild: only Hi (and the contract) are sources, everything else is re-fed by name
+        Set<String> supported = new AutoBladeProcessor().getSupportedAnnotationTypes();
+        List<String> refed = new ArrayList<>();
+        unchanged.forEach((type, annotations) -> {
+            if (supported.contains("*") || annotations.stream().anyMatch(supported::contains)) refed.add(PKG + "." + type);
+        });
+        compile(List.of(
+                source("Hi", "@GreetingStrategy(\"hi\") @Transient public class Hi implements Greeting {\n"
+                        + "  @Inject public Hi() {}\n"
+                        + "  @Override public String greet() { return \"hi\"; }\n}"),
+                source("AppBlade", "@Blade public interface AppBlade { GreetingStrategyResolver greetings(); }")),
+                List.of("-d", classes.toString(), "-s", generated.toString(),
+                        "-classpath", System.getProperty("java.class.path") + File.pathSeparator + previous),
+                refed);
+
+        String resolver = Files.readString(generated.resolve(PKG).resolve("GreetingStrategyResolver.java"));
+        assertTrue(resolver, resolver.contains("\"hi\""));
+        assertTrue(resolver, resolver.contains("\"yo\""));
+    }
+
+    private static void compile(List<JavaFileObject> sources, List<String> options, List<String> classNames) throws IOException {
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager files = javac.getStandardFileManager(diagnostics, null, null)) {
+            JavaCompiler.CompilationTask task = javac.getTask(null, files, diagnostics, options,
+                    classNames.isEmpty() ? null : classNames, sources);
+            task.setProcessors(List.of(new AutoBladeProcessor(), new dagger.internal.codegen.ComponentProcessor()));
+            assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+        }
+    }
+
+    private static JavaFileObject source(String name, String body) {
+        return JavaFileObjects.forSourceString(PKG + "." + name, "package " + PKG + ";\n"
+                + "import java.lang.annotation.*;\n"
+                + "import javax.inject.Inject;\n"
+                + "import org.tpunn.autoblade.annotations.*;\n"
+                + body + "\n");
+    }
+}
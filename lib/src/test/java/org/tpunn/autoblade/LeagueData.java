@@ -0,0 +1,11 @@
+package org.tpunn.autoblade;
+
+import org.tpunn.autoblade.annotations.Id;
+import org.tpunn.autoblade.annotations.Seed;
+import org.tpunn.autoblade.core.Anchor;
+
+@Seed(Anchor.LEAGUE)
+public record LeagueData(
+        @Id String leagueId,
+        String name
+) {}
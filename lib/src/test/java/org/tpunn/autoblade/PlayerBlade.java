@@ -2,6 +2,7 @@ package org.tpunn.autoblade;
 
 import org.tpunn.autoblade.actions.ActionStrategyResolver;
 import org.tpunn.autoblade.messages.MessageStrategyResolver;
+import org.tpunn.autoblade.emotes.EmoteStrategyResolver;
 import org.tpunn.autoblade.annotations.Blade;
 import org.tpunn.autoblade.badges.PlayerBadgeBuilder;
 import org.tpunn.autoblade.badges.PlayerBadgeMachine;
@@ -15,4 +16,5 @@ public interface PlayerBlade {
     PlayerBadgeBuilder badgeBuilder();
     ActionStrategyResolver actions();
     MessageStrategyResolver messages();
+    EmoteStrategyResolver emotes();
 }
\ No newline at end of file
@@ -0,0 +1,219 @@
+package org.tpunn.autoblade;
+
+import static com.google.testing.compile.Compiler.javac;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.Completion;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.JavaFileObject;
+
+import org.junit.Test;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+
+/**
+ * Compile-time scalability harness: generates synthetic projects of N anchors with M services each
+ * (plus a strategy and a factory per anchor), compiles them through AutoBladeProcessor and Dagger,
+ * and reports processor wall time, round count and allocation per round.
+ *
+ * Runs through {@code ./gradlew :lib:processorScalability}; sizes come from the
+ * {@code autoblade.scale.anchors} and {@code autoblade.scale.services} system properties.
+ */
+public class ProcessorScalabilityTest {
+    private static final String PKG = "scale";
+
+    @Test
+    public void sweep() {
+        int[] anchors = sizes("autoblade.scale.anchors", "5,10,20,40");
+        int[] services = sizes("autoblade.scale.services", "10");
+
+        List<String> rows = new ArrayList<>();
+        rows.add("anchors,services,sources,rounds,processorMillis,compileMillis,allocatedBytes,perRoundMillis,perRoundBytes");
+        // Warm the compiler once so the first row is not dominated by class loading
+        measure(2, 2);
+
+        double[] xs = new double[anchors.length * services.length];
+        double[] ys = new double[xs.length];
+        int point = 0;
+        for (int n : anchors) {
+            for (int m : services) {
+                Result r = measure(n, m);
+                rows.add(r.csv());
+                System.out.println(r);
+                xs[point] = Math.log((double) n * m);
+                ys[point++] = Math.log(Math.max(1, r.processorNanos));
+            }
+        }
+        // Slope of log(time) over log(N*M): ~1 is linear, noticeably above 1 is superlinear
+        System.out.printf("AutoBladeProcessor scaling exponent: %.2f%n", slope(xs, ys));
+        write(rows);
+    }
+
+    private static Result measure(int anchors, int services) {
+        List<JavaFileObject> sources = generate(anchors, services);
+        TimedProcessor autoBlade = new TimedProcessor(new AutoBladeProcessor());
+        long start = System.nanoTime();
+        Compilation compilation = javac()
+                .withProcessors(autoBlade, new dagger.internal.codegen.ComponentProcessor())
+                .compile(sources);
+        long compileNanos = System.nanoTime() - start;
+        assertEquals(compilation.diagnostics().toString(), Compilation.Status.SUCCESS, compilation.status());
+        return new Result(anchors, services, sources.size(), autoBlade.rounds, compileNanos);
+    }
+
+    // --- Synthetic project ---
+
+    static List<JavaFileObject> generate(int anchors, int services) {
+        List<JavaFileObject> files = new ArrayList<>();
+        StringBuilder app = new StringBuilder("@Blade public interface AppBlade {\n");
+        file(files, "Kind", "public enum Kind { LEFT, RIGHT }");
+
+        for (int a = 0; a < anchors; a++) {
+            String anchor = "A" + a;
+            file(files, anchor + "Data", "@Seed(\"" + anchor + "\") public record " + anchor + "Data(@Id String id) {}");
+            file(files, anchor + "Repository", "@Repository @Source(\"" + anchor + "\") public interface " + anchor + "Repository {\n"
+                    + "  @Create " + anchor + "Blade create(" + anchor + "Data data);\n"
+                    + "  @Lookup " + anchor + "Blade get(String id);\n}");
+            app.append("  ").append(anchor).append("Repository a").append(a).append("();\n");
+
+            StringBuilder blade = new StringBuilder("@Blade(\"" + anchor + "\") public interface " + anchor + "Blade {\n");
+            for (int s = 0; s < services; s++) {
+                String service = anchor + "Service" + s;
+                // Alternate scoped and transient services so both binding paths are exercised
+                String scope = s % 2 == 0 ? "@Scoped" : "@Transient";
+                file(files, service, "public interface " + service + " { String id(); }");
+                file(files, service + "Impl", scope + " @Anchored(\"" + anchor + "\") public class " + service + "Impl implements " + service + " {\n"
+                        + "  private final " + anchor + "Data data;\n"
+                        + "  @Inject public " + service + "Impl(" + anchor + "Data data) { this.data = data; }\n"
+                        + "  @Override public String id() { return data.id(); }\n}");
+                blade.append("  ").append(service).append(" service").append(s).append("();\n");
+            }
+            file(files, anchor + "Blade", blade.append("}").toString());
+
+            file(files, anchor + "Strategy", "@Strategy @Target(ElementType.TYPE) @Retention(RetentionPolicy.CLASS)\n"
+                    + "public @interface " + anchor + "Strategy { Kind value(); }");
+            file(files, anchor + "Move", "public interface " + anchor + "Move { int apply(); }");
+            for (String kind : List.of("LEFT", "RIGHT")) {
+                String impl = anchor + (kind.equals("LEFT") ? "Left" : "Right");
+                file(files, impl, "@" + anchor + "Strategy(Kind." + kind + ") @Scoped @Anchored(\"" + anchor + "\")\n"
+                        + "public class " + impl + " implements " + anchor + "Move {\n"
+                        + "  @Inject public " + impl + "() {}\n"
+                        + "  @Override public int apply() { return " + kind.length() + "; }\n}");
+            }
+
+            file(files, anchor + "Part", "public interface " + anchor + "Part { String name(); }");
+            file(files, anchor + "Widget", "@AutoFactory @Anchored(\"" + anchor + "\") public class " + anchor + "Widget implements " + anchor + "Part {\n"
+                    + "  private final String name;\n"
+                    + "  @AssistedInject public " + anchor + "Widget(@Assisted String name, " + anchor + "Data data) { this.name = name + data.id(); }\n"
+                    + "  @Override public String name() { return name; }\n}");
+        }
+        file(files, "AppBlade", app.append("}").toString());
+        return files;
+    }
+
+    private static void file(List<JavaFileObject> files, String name, String body) {
+        files.add(JavaFileObjects.forSourceString(PKG + "." + name, "package " + PKG + ";\n"
+                + "import java.lang.annotation.*;\n"
+                + "import javax.inject.Inject;\n"
+                + "import dagger.assisted.*;\n"
+                + "import org.tpunn.autoblade.annotations.*;\n"
+                + body + "\n"));
+    }
+
+    // --- Measurement ---
+
+    /** Delegates to the real processor, recording wall time and allocated bytes of each round */
+    private static final class TimedProcessor implements Processor {
+        private final Processor delegate;
+        final List<long[]> rounds = new ArrayList<>();
+
+        TimedProcessor(Processor delegate) { this.delegate = delegate; }
+
+        @Override public Set<String> getSupportedOptions() { return delegate.getSupportedOptions(); }
+        @Override public Set<String> getSupportedAnnotationTypes() { return delegate.getSupportedAnnotationTypes(); }
+        @Override public SourceVersion getSupportedSourceVersion() { return delegate.getSupportedSourceVersion(); }
+        @Override public void init(ProcessingEnvironment env) { delegate.init(env); }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            long bytes = allocatedBytes();
+            long start = System.nanoTime();
+            boolean claimed = delegate.process(annotations, roundEnv);
+            rounds.add(new long[] { System.nanoTime() - start, allocatedBytes() - bytes });
+            return claimed;
+        }
+
+        @Override
+        public Iterable<? extends Completion> getCompletions(Element element, AnnotationMirror annotation,
+                ExecutableElement member, String userText) {
+            return delegate.getCompletions(element, annotation, member, userText);
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private record Result(int anchors, int services, int sources, List<long[]> rounds, long compileNanos, long processorNanos, long allocated) {
+        Result(int anchors, int services, int sources, List<long[]> rounds, long compileNanos) {
+            this(anchors, services, sources, rounds, compileNanos,
+                    rounds.stream().mapToLong(r -> r[0]).sum(), rounds.stream().mapToLong(r -> r[1]).sum());
+        }
+
+        String csv() {
+            int n = Math.max(1, rounds.size());
+            return anchors + "," + services + "," + sources + "," + rounds.size() + "," + processorNanos / 1_000_000
+                    + "," + compileNanos / 1_000_000 + "," + allocated + "," + processorNanos / n / 1_000_000 + "," + allocated / n;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("N=%d M=%d sources=%d rounds=%d processor=%dms compile=%dms allocated=%dMB",
+                    anchors, services, sources, rounds.size(), processorNanos / 1_000_000, compileNanos / 1_000_000, allocated >> 20);
+        }
+    }
+
+    private static double slope(double[] xs, double[] ys) {
+        double mx = Arrays.stream(xs).average().orElse(0), my = Arrays.stream(ys).average().orElse(0);
+        double num = 0, den = 0;
+        for (int i = 0; i < xs.length; i++) {
+            num += (xs[i] - mx) * (ys[i] - my);
+            den += (xs[i] - mx) * (xs[i] - mx);
+        }
+        return den == 0 ? Double.NaN : num / den;
+    }
+
+    private static int[] sizes(String property, String fallback) {
+        return Arrays.stream(System.getProperty(property, fallback).split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static void write(List<String> rows) {
+        try {
+            Path out = Path.of(System.getProperty("autoblade.scale.output", "build/reports/processor-scalability.csv"));
+            if (out.getParent() != null) Files.createDirectories(out.getParent());
+            Files.write(out, rows);
+            System.out.println("Wrote " + out.toAbsolutePath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
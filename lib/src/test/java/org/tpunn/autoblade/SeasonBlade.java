@@ -0,0 +1,9 @@
+package org.tpunn.autoblade;
+
+import org.tpunn.autoblade.annotations.Blade;
+import org.tpunn.autoblade.core.Anchor;
+
+@Blade(Anchor.SEASON)
+public interface SeasonBlade {
+    SeasonData data();
+}
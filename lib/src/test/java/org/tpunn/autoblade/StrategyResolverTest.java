@@ -0,0 +1,57 @@
+package org.tpunn.autoblade;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+
+import org.junit.Test;
+
+import com.google.common.truth.StringSubject;
+import com.google.testing.compile.Compilation;
+
+/** Generated strategy resolvers, compiled in isolation next to the minimal "Item" anchor of {@link ValidatorTest}. */
+public class StrategyResolverTest {
+    private static final String KIND = "public enum Kind { SMALL, LARGE }";
+    private static final String SHAPE = "public interface Shape { int size(); }";
+    private static final String STRATEGY = "@Strategy @Target(ElementType.TYPE) @Retention(RetentionPolicy.CLASS)\n"
+            + "public @interface ShapeStrategy { Kind value(); }";
+
+    @Test
+    public void enumKeysDispatchThroughOrdinalTable() {
+        Compilation compilation = ValidatorTest.compile(KIND, SHAPE, STRATEGY,
+                impl("Small", "SMALL", "@Transient"),
+                impl("Large", "LARGE", "@Transient"),
+                "@Blade public interface AppBlade { ShapeStrategyResolver shapes(); }");
+        assertThat(compilation).succeeded();
+        StringSubject resolver = assertThat(compilation).generatedSourceFile("invalid.ShapeStrategyResolver").contentsAsUtf8String();
+        resolver.contains("int slot = kind.ordinal();");
+        resolver.contains("return strategies[slot].get();");
+    }
+
+    @Test
+    public void enumKeysMustAllBeImplemented() {
+        Compilation compilation = ValidatorTest.compile(KIND, SHAPE, STRATEGY,
+                impl("Small", "SMALL", "@Transient"),
+                "@Blade public interface AppBlade { ShapeStrategyResolver shapes(); }");
+        assertThat(compilation).hadErrorContaining("Strategy 'ShapeStrategy' has no implementation for Kind [LARGE]");
+    }
+
+    @Test
+    public void onlyScopedKindsAreMemoized() {
+        Compilation compilation = ValidatorTest.compile(KIND, SHAPE, STRATEGY,
+                impl("Small", "SMALL", "@Scoped"),
+                impl("Large", "LARGE", "@Transient"),
+                "@Blade public interface AppBlade { ShapeStrategyResolver shapes(); }");
+        assertThat(compilation).succeeded();
+        StringSubject resolver = assertThat(compilation).generatedSourceFile("invalid.ShapeStrategyResolver").contentsAsUtf8String();
+        resolver.contains("private static final boolean[] MEMOIZED = new boolean[Kind.values().length];");
+        resolver.contains("MEMOIZED[Kind.SMALL.ordinal()] = true;");
+        resolver.doesNotContain("MEMOIZED[Kind.LARGE.ordinal()]");
+        resolver.doesNotContain("boolean[] memoized");
+    }
+
+    static String impl(String name, String kind, String scope) {
+        return "@ShapeStrategy(Kind." + kind + ") " + scope + "\n"
+                + "public class " + name + " implements Shape {\n"
+                + "  @Inject public " + name + "() {}\n"
+                + "  @Override public int size() { return " + name.length() + "; }\n}";
+    }
+}
@@ -0,0 +1,100 @@
+package org.tpunn.autoblade;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.tools.JavaFileObject;
+
+import org.junit.Test;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+
+/** Processor diagnostics for invalid declarations, compiled in isolation. */
+public class ValidatorTest {
+    private static final String PKG = "invalid";
+
+    @Test
+    public void boundedRepositoryRejectsConcurrentMode() {
+        Compilation compilation = compile(
+                "@Repository(maximumSize = 10) @Concurrent(Concurrent.Mode.CONFINED) @Source(\"Item\")\n"
+                        + "public interface ItemRepository {\n"
+                        + "  @Create ItemBlade create(ItemData data);\n}");
+        assertThat(compilation).hadErrorContaining("Bounded repository 'ItemRepository' always uses the thread-safe eviction cache");
+    }
+
+    @Test
+    public void confinedRepositoryRejectsAsyncMethods() {
+        Compilation compilation = compile(
+                "@Repository @Concurrent(Concurrent.Mode.CONFINED) @Source(\"Item\")\n"
+                        + "public interface ItemRepository {\n"
+                        + "  @Create CompletableFuture<ItemBlade> create(ItemData data);\n}");
+        assertThat(compilation).hadErrorContaining("'create' must not return a CompletableFuture");
+    }
+
+    @Test
+    public void deepSearchRejectsEphemeralAnchor() {
+        Compilation compilation = compile(
+                "@Repository(ephemeral = true) @Source(\"Item\")\n"
+                        + "public interface ItemRepository {\n"
+                        + "  @Create ItemBlade create(ItemData data);\n}",
+                "@Seed(\"Shelf\") public record ShelfData(@Id String id) {}",
+                "@Blade(\"Shelf\") public interface ShelfBlade {}",
+                "@Repository @Source(\"Shelf\")\n"
+                        + "public interface ShelfRepository {\n"
+                        + "  @Create ShelfBlade create(ShelfData data);\n"
+                        + "  @Lookup Optional<ItemBlade> findItem(String id);\n}");
+        assertThat(compilation).hadErrorContaining("an ephemeral repository creates those blades outside of it");
+    }
+
+    @Test
+    public void pathLookupRejectsKeyOfNoParentAnchor() {
+        // Items are created at App level, so no Shelf ever parents one
+        Compilation compilation = compile(
+                "@Repository @Source(\"Item\")\n"
+                        + "public interface ItemRepository {\n"
+                        + "  @Create ItemBlade create(ItemData data);\n}",
+                "@Seed(\"Shelf\") public record ShelfData(@Id String id) {}",
+                "@Blade(\"Shelf\") public interface ShelfBlade {}",
+                "@Repository @Source(\"Shelf\")\n"
+                        + "public interface ShelfRepository {\n"
+                        + "  @Create ShelfBlade create(ShelfData data);\n"
+                        + "  @Lookup ItemBlade findItemOnShelf(String shelfId, String itemId);\n}");
+        assertThat(compilation).hadErrorContaining("must each match the ID type of exactly one parent anchor, walking up from [item]");
+    }
+
+    @Test
+    public void strategyRejectsSourceRetention() {
+        Compilation compilation = compile(
+                "@Strategy @Target(ElementType.TYPE) @Retention(RetentionPolicy.SOURCE)\n"
+                        + "public @interface ItemStrategy { String value(); }");
+        assertThat(compilation).hadErrorContaining("Strategy 'ItemStrategy' needs CLASS retention");
+    }
+
+    /** Compiles the extra declarations next to a minimal "Item" anchor. */
+    static Compilation compile(String... declarations) {
+        List<JavaFileObject> files = new ArrayList<>();
+        files.add(source("ItemData", "@Seed(\"Item\") public record ItemData(@Id String id) {}"));
+        files.add(source("ItemBlade", "@Blade(\"Item\") public interface ItemBlade {}"));
+        for (String declaration : declarations) {
+            String name = declaration.replaceAll("(?s).*?(?:class|interface|enum|record|@interface)\\s+(\\w+).*", "$1");
+            files.add(source(name, declaration));
+        }
+        return javac()
+                .withProcessors(new AutoBladeProcessor(), new dagger.internal.codegen.ComponentProcessor())
+                .compile(files);
+    }
+
+    private static JavaFileObject source(String name, String body) {
+        return JavaFileObjects.forSourceString(PKG + "." + name, "package " + PKG + ";\n"
+                + "import java.lang.annotation.*;\n"
+                + "import java.util.*;\n"
+                + "import java.util.concurrent.CompletableFuture;\n"
+                + "import javax.inject.Inject;\n"
+                + "import org.tpunn.autoblade.annotations.*;\n"
+                + body + "\n");
+    }
+}
@@ -12,7 +12,7 @@ import org.tpunn.autoblade.annotations.Strategy;
  */
 @Strategy
 @Target(ElementType.TYPE)
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface ActionStrategy {
     ActionType value();
 }
@@ -9,7 +9,7 @@ import org.tpunn.autoblade.core.Anchor;
 import dagger.assisted.Assisted;
 import dagger.assisted.AssistedInject;
 
-@AutoBuilder
+@AutoBuilder(reusable = true)
 @AutoFactory(suffix = "Machine")
 @Anchored(Anchor.PLAYER)
 public class PlayerBadgeImpl implements PlayerBadge {
@@ -3,4 +3,8 @@ package org.tpunn.autoblade.core;
 public class Anchor {
     public final static String TEAM = "Team";
     public final static String PLAYER = "Player";
+    public final static String SEASON = "Season";
+    public final static String MATCH = "Match";
+    public final static String VENUE = "Venue";
+    public final static String LEAGUE = "League";
 }
@@ -0,0 +1,25 @@
+package org.tpunn.autoblade.emotes;
+
+import javax.inject.Inject;
+
+import org.tpunn.autoblade.PlayerData;
+import org.tpunn.autoblade.annotations.Anchored;
+import org.tpunn.autoblade.annotations.Transient;
+import org.tpunn.autoblade.core.Anchor;
+
+@EmoteStrategy("bow")
+@Transient
+@Anchored(Anchor.PLAYER)
+public class BowEmote implements Emote {
+    private final PlayerData data;
+
+    @Inject
+    public BowEmote(PlayerData data) {
+        this.data = data;
+    }
+
+    @Override
+    public String perform() {
+        return data.username() + " bows";
+    }
+}
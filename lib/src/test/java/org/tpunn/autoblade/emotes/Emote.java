@@ -0,0 +1,5 @@
+package org.tpunn.autoblade.emotes;
+
+public interface Emote {
+    String perform();
+}
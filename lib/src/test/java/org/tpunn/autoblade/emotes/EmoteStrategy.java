@@ -0,0 +1,18 @@
+package org.tpunn.autoblade.emotes;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.tpunn.autoblade.annotations.Strategy;
+
+/**
+ * Choose an emote by the raw command string a client sends
+ */
+@Strategy
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface EmoteStrategy {
+    String value();
+}
@@ -0,0 +1,25 @@
+package org.tpunn.autoblade.emotes;
+
+import javax.inject.Inject;
+
+import org.tpunn.autoblade.PlayerData;
+import org.tpunn.autoblade.annotations.Anchored;
+import org.tpunn.autoblade.annotations.Scoped;
+import org.tpunn.autoblade.core.Anchor;
+
+@EmoteStrategy("wave")
+@Scoped
+@Anchored(Anchor.PLAYER)
+public class WaveEmote implements Emote {
+    private final PlayerData data;
+
+    @Inject
+    public WaveEmote(PlayerData data) {
+        this.data = data;
+    }
+
+    @Override
+    public String perform() {
+        return data.username() + " waves";
+    }
+}
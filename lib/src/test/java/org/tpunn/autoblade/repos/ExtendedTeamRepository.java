@@ -1,13 +1,16 @@
 package org.tpunn.autoblade.repos;
 
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.tpunn.autoblade.PlayerBlade;
 import org.tpunn.autoblade.TeamBlade;
 import org.tpunn.autoblade.TeamData;
 import org.tpunn.autoblade.annotations.Concurrent;
 import org.tpunn.autoblade.annotations.Create;
+import org.tpunn.autoblade.annotations.Loader;
 import org.tpunn.autoblade.annotations.Lookup;
 import org.tpunn.autoblade.annotations.Repository;
 import org.tpunn.autoblade.annotations.Source;
@@ -20,15 +23,26 @@ public abstract class ExtendedTeamRepository implements TeamRepository {
     @Create
     public abstract TeamBlade create(TeamData team);
 
+    @Create
+    public abstract CompletableFuture<TeamBlade> createAsync(TeamData team);
+
     @Lookup
     public abstract TeamBlade get(String teamId);
 
+    @Lookup(load = true)
+    public abstract TeamBlade load(String teamId);
+
+    @Loader
+    protected TeamData fetch(String teamId) {
+        return teamId.startsWith("stored-") ? new TeamData(teamId, "Stored Team") : null;
+    }
+
     @Lookup
     public abstract Optional<PlayerBlade> findPlayer(UUID playerId);
 
-    // Custom implementation method
-    @Override
-    public PlayerBlade findPlayerInTeam(String teamId, UUID playerId) {
-        return get(teamId).players().get(playerId);
-    }
+    @Lookup
+    public abstract Set<PlayerBlade> allPlayers();
+
+    @Lookup
+    public abstract PlayerBlade findPlayerInTeam(String teamId, UUID playerId);
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package org.tpunn.autoblade.repos;
+
+import org.tpunn.autoblade.LeagueBlade;
+import org.tpunn.autoblade.LeagueData;
+import org.tpunn.autoblade.annotations.Create;
+import org.tpunn.autoblade.annotations.Lookup;
+import org.tpunn.autoblade.annotations.Remove;
+import org.tpunn.autoblade.annotations.Repository;
+import org.tpunn.autoblade.annotations.Source;
+import org.tpunn.autoblade.core.Anchor;
+
+@Repository
+@Source(Anchor.LEAGUE)
+public interface LeagueRepository {
+    @Create
+    LeagueBlade create(LeagueData league);
+
+    @Lookup
+    LeagueBlade get(String leagueId);
+
+    @Remove
+    boolean remove(String leagueId);
+}
@@ -0,0 +1,25 @@
+package org.tpunn.autoblade.repos;
+
+import org.tpunn.autoblade.MatchBlade;
+import org.tpunn.autoblade.MatchData;
+import org.tpunn.autoblade.annotations.Concurrent;
+import org.tpunn.autoblade.annotations.Create;
+import org.tpunn.autoblade.annotations.Lookup;
+import org.tpunn.autoblade.annotations.Remove;
+import org.tpunn.autoblade.annotations.Repository;
+import org.tpunn.autoblade.annotations.Source;
+import org.tpunn.autoblade.core.Anchor;
+
+@Repository
+@Concurrent(Concurrent.Mode.CONFINED)
+@Source(Anchor.MATCH)
+public interface MatchRepository {
+    @Create
+    MatchBlade create(MatchData match);
+
+    @Lookup
+    MatchBlade get(String matchId);
+
+    @Remove
+    boolean remove(String matchId);
+}
@@ -1,17 +1,22 @@
 package org.tpunn.autoblade.repos;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import org.tpunn.autoblade.PlayerBlade;
 import org.tpunn.autoblade.PlayerData;
 import org.tpunn.autoblade.annotations.Anchored;
 import org.tpunn.autoblade.annotations.Create;
 import org.tpunn.autoblade.annotations.Lookup;
+import org.tpunn.autoblade.annotations.Remove;
 import org.tpunn.autoblade.annotations.Repository;
 import org.tpunn.autoblade.annotations.Source;
 import org.tpunn.autoblade.core.Anchor;
 
-@Repository
+@Repository(maximumSize = 10_000, expireAfterAccess = 30, timeUnit = TimeUnit.MINUTES)
 @Anchored(Anchor.TEAM)
 @Source(Anchor.PLAYER)
 public interface PlayerRepository {
@@ -20,4 +25,16 @@ public interface PlayerRepository {
 
     @Lookup
     PlayerBlade get(UUID userId);
+
+    @Create
+    List<PlayerBlade> createAll(Collection<PlayerData> users);
+
+    @Lookup
+    Map<UUID, PlayerBlade> getAll(Collection<UUID> userIds);
+
+    @Remove
+    boolean remove(UUID userId);
+
+    @Remove
+    int releaseAll();
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package org.tpunn.autoblade.repos;
+
+import org.tpunn.autoblade.SeasonBlade;
+import org.tpunn.autoblade.SeasonData;
+import org.tpunn.autoblade.annotations.Concurrent;
+import org.tpunn.autoblade.annotations.Create;
+import org.tpunn.autoblade.annotations.Lookup;
+import org.tpunn.autoblade.annotations.Repository;
+import org.tpunn.autoblade.annotations.Source;
+import org.tpunn.autoblade.core.Anchor;
+
+@Repository
+@Concurrent(Concurrent.Mode.READ_MOSTLY)
+@Source(Anchor.SEASON)
+public interface SeasonRepository {
+    @Create
+    SeasonBlade create(SeasonData season);
+
+    @Lookup
+    SeasonBlade get(String seasonId);
+}
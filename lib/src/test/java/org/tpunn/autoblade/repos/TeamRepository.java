@@ -1,7 +1,9 @@
 package org.tpunn.autoblade.repos;
 
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.tpunn.autoblade.PlayerBlade;
 import org.tpunn.autoblade.TeamBlade;
@@ -9,7 +11,10 @@ import org.tpunn.autoblade.TeamData;
 
 public interface TeamRepository {
     TeamBlade create(TeamData team);
+    CompletableFuture<TeamBlade> createAsync(TeamData team);
     TeamBlade get(String teamId);
+    TeamBlade load(String teamId);
     Optional<PlayerBlade> findPlayer(UUID playerId);
     PlayerBlade findPlayerInTeam(String teamId, UUID playerId);
+    Set<PlayerBlade> allPlayers();
 }
\ No newline at end of file
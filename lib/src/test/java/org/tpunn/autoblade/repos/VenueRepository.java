@@ -0,0 +1,25 @@
+package org.tpunn.autoblade.repos;
+
+import org.tpunn.autoblade.VenueBlade;
+import org.tpunn.autoblade.VenueData;
+import org.tpunn.autoblade.annotations.Concurrent;
+import org.tpunn.autoblade.annotations.Create;
+import org.tpunn.autoblade.annotations.Lookup;
+import org.tpunn.autoblade.annotations.Remove;
+import org.tpunn.autoblade.annotations.Repository;
+import org.tpunn.autoblade.annotations.Source;
+import org.tpunn.autoblade.core.Anchor;
+
+@Repository
+@Concurrent(Concurrent.Mode.STRIPED)
+@Source(Anchor.VENUE)
+public interface VenueRepository {
+    @Create
+    VenueBlade create(VenueData venue);
+
+    @Lookup
+    VenueBlade get(String venueId);
+
+    @Remove
+    boolean remove(String venueId);
+}
@@ -1,3 +1,4 @@
 rootProject.name = "AutoBlade"
 
-include("lib")
\ No newline at end of file
+include("lib")
+include("benchmarks")